@@ -0,0 +1,72 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * AI 漫游状态：目标速度和换目标计时器。由 GameLogic 的移动循环读写，组件本身不更新；
+ * 随实体销毁从场景的组件索引中移除，对象池回收时 reset。
+ */
+public class AISteeringComponent extends Component<AISteeringComponent> {
+    private float targetVelocityX;
+    private float targetVelocityY;
+    private float retargetTimer;
+    private boolean hasTarget;
+    // 每个实体一条随机流，首次使用时按场景种子和实体 ID 创建
+    private SplittableRandom random;
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        targetVelocityX = 0;
+        targetVelocityY = 0;
+        retargetTimer = 0;
+        hasTarget = false;
+        random = null;
+    }
+
+    @Override
+    public void render() {
+    }
+
+    public float getTargetVelocityX() {
+        return targetVelocityX;
+    }
+
+    public float getTargetVelocityY() {
+        return targetVelocityY;
+    }
+
+    public void setTargetVelocity(float x, float y) {
+        this.targetVelocityX = x;
+        this.targetVelocityY = y;
+        this.hasTarget = true;
+        this.retargetTimer = 0;
+    }
+
+    public boolean hasTarget() {
+        return hasTarget;
+    }
+
+    /** 累加计时并返回累加后的值。 */
+    public float advanceTimer(float deltaTime) {
+        retargetTimer += deltaTime;
+        return retargetTimer;
+    }
+
+    public float getRetargetTimer() {
+        return retargetTimer;
+    }
+
+    public SplittableRandom getRandom() {
+        if (random == null && owner != null && owner.getScene() != null) {
+            random = owner.getScene().getRandom().forEntity(owner.getId());
+        }
+        return random;
+    }
+}
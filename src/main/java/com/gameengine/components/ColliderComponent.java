@@ -0,0 +1,137 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+
+/**
+ * 碰撞形状，中心取 TransformComponent 的位置。
+ * layer 是自身所在的层（位），mask 是愿意与之碰撞的层；双方的 layer 都落在对方 mask 内才产生接触。
+ */
+public class ColliderComponent extends Component<ColliderComponent> {
+    public static final int ALL_LAYERS = -1;
+
+    private Shape shape;
+    private float radius;
+    private float halfWidth;
+    private float halfHeight;
+    private int layer;
+    private int mask;
+    // 连续碰撞：按上次检测时的位置到当前位置扫掠，防止高速物体一步穿过目标
+    private boolean continuous;
+    private boolean hasSweepOrigin;
+    private float sweepOriginX;
+    private float sweepOriginY;
+
+    public enum Shape {
+        CIRCLE,
+        AABB
+    }
+
+    private ColliderComponent(Shape shape, float radius, float halfWidth, float halfHeight) {
+        this.shape = shape;
+        this.radius = radius;
+        this.halfWidth = halfWidth;
+        this.halfHeight = halfHeight;
+        this.layer = 1;
+        this.mask = ALL_LAYERS;
+    }
+
+    public static ColliderComponent circle(float radius) {
+        return new ColliderComponent(Shape.CIRCLE, radius, radius, radius);
+    }
+
+    public static ColliderComponent box(float width, float height) {
+        return new ColliderComponent(Shape.AABB, 0, width / 2, height / 2);
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        hasSweepOrigin = false;
+    }
+
+    @Override
+    public void render() {
+    }
+
+    public ColliderComponent setLayer(int layer) {
+        this.layer = layer;
+        return this;
+    }
+
+    public ColliderComponent setMask(int mask) {
+        this.mask = mask;
+        return this;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    /** 标记为高速物体（如子弹），碰撞系统对它做扫掠检测。 */
+    public ColliderComponent setContinuous(boolean continuous) {
+        this.continuous = continuous;
+        this.hasSweepOrigin = false;
+        return this;
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    public boolean hasSweepOrigin() {
+        return hasSweepOrigin;
+    }
+
+    public float getSweepOriginX() {
+        return sweepOriginX;
+    }
+
+    public float getSweepOriginY() {
+        return sweepOriginY;
+    }
+
+    /** 由 CollisionSystem 在每次检测后写入；瞬移后可调用 clearSweepOrigin 避免扫过途经的物体。 */
+    public void setSweepOrigin(float x, float y) {
+        this.sweepOriginX = x;
+        this.sweepOriginY = y;
+        this.hasSweepOrigin = true;
+    }
+
+    public void clearSweepOrigin() {
+        this.hasSweepOrigin = false;
+    }
+
+    public boolean canCollide(ColliderComponent other) {
+        return (layer & other.mask) != 0 && (other.layer & mask) != 0;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public float getHalfWidth() {
+        return halfWidth;
+    }
+
+    public float getHalfHeight() {
+        return halfHeight;
+    }
+
+    /** 外接圆半径，宽相用。 */
+    public float getBoundingRadius() {
+        if (shape == Shape.CIRCLE) return radius;
+        return (float) Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight);
+    }
+}
@@ -1,15 +1,32 @@
 package com.gameengine.components;
 
+import com.gameengine.core.ArchetypeStorage;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
 public class PhysicsComponent extends Component<PhysicsComponent> {
+    // 速度和加速度连续 SLEEP_TICKS 个 tick 低于阈值后休眠，不再积分，直到被唤醒
+    public static final float SLEEP_VELOCITY = 1.0f;
+    public static final float SLEEP_ACCELERATION = 1.0f;
+    public static final int SLEEP_TICKS = 30;
+    // 摩擦系数是每 1/60 s 保留的速度比例，步长不同时按指数换算，模拟步频不影响手感
+    public static final float FRICTION_REFERENCE_RATE = 60f;
+    
     private Vector2 velocity;
     private Vector2 acceleration;
     private float mass;
     private float friction;
+    // 按上次步长换算好的每步摩擦，步长或系数变化时重算
+    private float stepFriction;
+    private float stepFrictionDt = -1;
     private boolean useGravity;
     private Vector2 gravity;
+    // 绑定到 ArchetypeStorage 后速度/加速度/摩擦/重力读写走列存储
+    private ArchetypeStorage storage;
+    private int handle = -1;
+    private boolean sleeping;
+    private boolean allowSleep = true;
+    private int quietTicks;
     
     public PhysicsComponent() {
         this.velocity = new Vector2();
@@ -33,44 +50,226 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     public void render() {
     }
     
+    public void bind(ArchetypeStorage storage, int handle) {
+        storage.set(handle, ArchetypeStorage.VEL_X, velocity.x);
+        storage.set(handle, ArchetypeStorage.VEL_Y, velocity.y);
+        storage.set(handle, ArchetypeStorage.ACC_X, acceleration.x);
+        storage.set(handle, ArchetypeStorage.ACC_Y, acceleration.y);
+        storage.set(handle, ArchetypeStorage.FRICTION, friction);
+        storage.setEnabled(handle, enabled && !sleeping);
+        storage.set(handle, ArchetypeStorage.QUIET, quietTicks);
+        this.storage = storage;
+        this.handle = handle;
+        syncGravity();
+    }
+    
+    public void unbind() {
+        if (storage == null) return;
+        this.velocity = new Vector2(storage.get(handle, ArchetypeStorage.VEL_X), storage.get(handle, ArchetypeStorage.VEL_Y));
+        this.acceleration = new Vector2(storage.get(handle, ArchetypeStorage.ACC_X), storage.get(handle, ArchetypeStorage.ACC_Y));
+        this.quietTicks = (int) storage.get(handle, ArchetypeStorage.QUIET);
+        this.storage = null;
+        this.handle = -1;
+    }
+    
+    public boolean isBound() {
+        return storage != null;
+    }
+    
+    public int getHandle() {
+        return handle;
+    }
+    
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        syncEnabled();
+        if (enabled) {
+            notifyWoken();
+        }
+    }
+    
+    // 通知场景，PhysicsSystem 下个 tick 把它放回活跃集合
+    private void notifyWoken() {
+        if (owner != null && owner.getScene() != null) {
+            owner.getScene().onBodyWoken(this);
+        }
+    }
+    
+    private void syncEnabled() {
+        if (storage != null) {
+            storage.setEnabled(handle, enabled && !sleeping);
+        }
+    }
+    
+    public boolean isSleeping() {
+        return sleeping;
+    }
+    
+    /** 唤醒并重新计数；已醒着时只清零静止计数。 */
+    public void wake() {
+        resetQuietTicks();
+        if (!sleeping) return;
+        sleeping = false;
+        syncEnabled();
+        notifyWoken();
+    }
+    
+    /** 立即休眠：速度和加速度清零，停止积分。 */
+    public void sleep() {
+        if (sleeping) return;
+        writeVelocity(0, 0);
+        writeAcceleration(0, 0);
+        sleeping = true;
+        resetQuietTicks();
+        syncEnabled();
+    }
+    
+    private void resetQuietTicks() {
+        quietTicks = 0;
+        if (storage != null) {
+            storage.set(handle, ArchetypeStorage.QUIET, 0);
+        }
+    }
+    
+    public void setAllowSleep(boolean allowSleep) {
+        this.allowSleep = allowSleep;
+        syncGravity();
+        if (!allowSleep) {
+            wake();
+        }
+    }
+    
+    public boolean isAllowSleep() {
+        return allowSleep;
+    }
+    
+    /** 由 PhysicsSystem 在积分前调用；本 tick 进入休眠时返回 true。绑定到列存储的物体由积分内核按列判定。 */
+    public boolean updateSleep() {
+        if (sleeping) return true;
+        float vx = getVelocityX();
+        float vy = getVelocityY();
+        float ax = getAccelerationX();
+        float ay = getAccelerationY();
+        if (!allowSleep || useGravity
+                || vx * vx + vy * vy > SLEEP_VELOCITY * SLEEP_VELOCITY
+                || ax * ax + ay * ay > SLEEP_ACCELERATION * SLEEP_ACCELERATION) {
+            quietTicks = 0;
+            return false;
+        }
+        if (++quietTicks < SLEEP_TICKS) return false;
+        sleep();
+        return true;
+    }
+    
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (storage != null) {
+            storage.setEnabled(handle, false);
+        }
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        sleeping = false;
+        resetQuietTicks();
+        syncEnabled();
+        setVelocity(0, 0);
+        setAcceleration(0, 0);
+    }
+    
     public void applyForce(Vector2 force) {
         if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+            float inv = 1.0f / mass;
+            setAcceleration(getAccelerationX() + force.x * inv, getAccelerationY() + force.y * inv);
         }
     }
     
     public void applyImpulse(Vector2 impulse) {
         if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
+            float inv = 1.0f / mass;
+            setVelocity(getVelocityX() + impulse.x * inv, getVelocityY() + impulse.y * inv);
         }
     }
     
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        setVelocity(velocity.x, velocity.y);
     }
     
+    /** 非零速度会唤醒休眠的物体。 */
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        if (sleeping && (x != 0 || y != 0)) {
+            wake();
+        }
+        writeVelocity(x, y);
+    }
+    
+    private void writeVelocity(float x, float y) {
+        if (storage != null) {
+            storage.set(handle, ArchetypeStorage.VEL_X, x);
+            storage.set(handle, ArchetypeStorage.VEL_Y, y);
+            return;
+        }
+        velocity.set(x, y);
     }
     
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        setAcceleration(acceleration.x, acceleration.y);
+    }
+    
+    public void setAcceleration(float x, float y) {
+        if (sleeping && (x != 0 || y != 0)) {
+            wake();
+        }
+        writeAcceleration(x, y);
+    }
+    
+    private void writeAcceleration(float x, float y) {
+        if (storage != null) {
+            storage.set(handle, ArchetypeStorage.ACC_X, x);
+            storage.set(handle, ArchetypeStorage.ACC_Y, y);
+            return;
+        }
+        acceleration.set(x, y);
     }
     
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        addVelocity(delta.x, delta.y);
+    }
+    
+    public void addVelocity(float dx, float dy) {
+        setVelocity(getVelocityX() + dx, getVelocityY() + dy);
     }
     
     public void setGravity(Vector2 gravity) {
         this.gravity = new Vector2(gravity);
+        syncGravity();
     }
     
     public void setUseGravity(boolean useGravity) {
         this.useGravity = useGravity;
+        syncGravity();
+        if (useGravity) {
+            wake();
+        }
     }
     
     public void setFriction(float friction) {
         this.friction = Math.max(0, Math.min(1, friction));
+        this.stepFrictionDt = -1;
+        if (storage != null) {
+            storage.set(handle, ArchetypeStorage.FRICTION, this.friction);
+        }
+    }
+    
+    // 重力和是否允许休眠一起同步，内核据 SLEEP_OK 列判定休眠
+    private void syncGravity() {
+        if (storage == null) return;
+        storage.set(handle, ArchetypeStorage.GRAV_X, useGravity ? gravity.x : 0);
+        storage.set(handle, ArchetypeStorage.GRAV_Y, useGravity ? gravity.y : 0);
+        storage.set(handle, ArchetypeStorage.SLEEP_OK, allowSleep && !useGravity ? 1f : 0f);
     }
     
     public void setMass(float mass) {
@@ -78,11 +277,32 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     }
     
     public Vector2 getVelocity() {
-        return new Vector2(velocity);
+        return getVelocity(new Vector2());
+    }
+    
+    /** 写入调用方提供的向量，不分配。 */
+    public Vector2 getVelocity(Vector2 out) {
+        return out.set(getVelocityX(), getVelocityY());
+    }
+    
+    public float getVelocityX() {
+        return storage != null ? storage.get(handle, ArchetypeStorage.VEL_X) : velocity.x;
+    }
+    
+    public float getVelocityY() {
+        return storage != null ? storage.get(handle, ArchetypeStorage.VEL_Y) : velocity.y;
     }
     
     public Vector2 getAcceleration() {
-        return new Vector2(acceleration);
+        return new Vector2(getAccelerationX(), getAccelerationY());
+    }
+    
+    public float getAccelerationX() {
+        return storage != null ? storage.get(handle, ArchetypeStorage.ACC_X) : acceleration.x;
+    }
+    
+    public float getAccelerationY() {
+        return storage != null ? storage.get(handle, ArchetypeStorage.ACC_Y) : acceleration.y;
     }
     
     public float getMass() {
@@ -93,6 +313,19 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
         return friction;
     }
     
+    /** 步长为 deltaTime 时每步乘到速度上的系数。 */
+    public float getStepFriction(float deltaTime) {
+        if (deltaTime != stepFrictionDt) {
+            stepFriction = stepFriction(friction, deltaTime);
+            stepFrictionDt = deltaTime;
+        }
+        return stepFriction;
+    }
+    
+    public static float stepFriction(float friction, float deltaTime) {
+        return (float) Math.pow(friction, deltaTime * FRICTION_REFERENCE_RATE);
+    }
+    
     public boolean isUseGravity() {
         return useGravity;
     }
@@ -100,4 +333,12 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     public Vector2 getGravity() {
         return new Vector2(gravity);
     }
+    
+    public float getGravityX() {
+        return gravity.x;
+    }
+    
+    public float getGravityY() {
+        return gravity.y;
+    }
 }
@@ -61,43 +61,58 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        Vector2 position = transform.getPosition();
+        // 在上一步与当前步之间插值，固定步长下渲染仍然平滑
+        float alpha = owner.getScene() != null ? owner.getScene().getInterpolationAlpha() : 1.0f;
+        float x = transform.getInterpolatedX(alpha);
+        float y = transform.getInterpolatedY(alpha);
         
         switch (renderType) {
             case RECTANGLE:
-                renderer.drawRect(position.x, position.y, size.x, size.y, 
+                renderer.drawRect(x, y, size.x, size.y, 
                                 color.r, color.g, color.b, color.a);
                 break;
             case CIRCLE:
-                renderer.drawCircle(position.x + size.x/2, position.y + size.y/2, 
+                renderer.drawCircle(x + size.x/2, y + size.y/2, 
                                   size.x/2, 16, color.r, color.g, color.b, color.a);
                 break;
             case LINE:
-                renderer.drawLine(position.x, position.y, 
-                                position.x + size.x, position.y + size.y,
+                renderer.drawLine(x, y, 
+                                x + size.x, y + size.y,
                                 color.r, color.g, color.b, color.a);
                 break;
         }
     }
     
+    @Override
+    public void reset() {
+        super.reset();
+        this.visible = true;
+    }
+    
     public void setRenderer(IRenderer renderer) {
         this.renderer = renderer;
     }
     
     public void setColor(Color color) {
         this.color = color;
+        markChanged();
     }
     
     public void setColor(float r, float g, float b, float a) {
+        if (color != null && color.r == r && color.g == g && color.b == b && color.a == a) return;
         this.color = new Color(r, g, b, a);
+        markChanged();
     }
     
     public void setSize(Vector2 size) {
         this.size = new Vector2(size);
+        markChanged();
     }
     
     public void setVisible(boolean visible) {
+        if (this.visible == visible) return;
         this.visible = visible;
+        markChanged();
     }
     
     public RenderType getRenderType() {
@@ -1,5 +1,6 @@
 package com.gameengine.components;
 
+import com.gameengine.core.ArchetypeStorage;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
@@ -7,6 +8,12 @@ public class TransformComponent extends Component<TransformComponent> {
     private Vector2 position;
     private Vector2 scale;
     private float rotation;
+    // 绑定到 ArchetypeStorage 后位置读写走列存储，position 字段仅在解绑时同步
+    private ArchetypeStorage storage;
+    private int handle = -1;
+    // 上一个固定步开始时的位置，渲染时与当前位置按 alpha 插值
+    private float previousX;
+    private float previousY;
     
     public TransformComponent() {
         this.position = new Vector2();
@@ -17,12 +24,14 @@ public class TransformComponent extends Component<TransformComponent> {
     public TransformComponent(Vector2 position) {
         this();
         this.position = new Vector2(position);
+        capturePrevious();
     }
     
     public TransformComponent(Vector2 position, Vector2 scale, float rotation) {
         this.position = new Vector2(position);
         this.scale = new Vector2(scale);
         this.rotation = rotation;
+        capturePrevious();
     }
     
     @Override
@@ -33,37 +42,137 @@ public class TransformComponent extends Component<TransformComponent> {
     public void render() {
     }
     
+    public void bind(ArchetypeStorage storage, int handle) {
+        storage.set(handle, ArchetypeStorage.POS_X, position.x);
+        storage.set(handle, ArchetypeStorage.POS_Y, position.y);
+        storage.set(handle, ArchetypeStorage.PREV_X, position.x);
+        storage.set(handle, ArchetypeStorage.PREV_Y, position.y);
+        this.storage = storage;
+        this.handle = handle;
+    }
+    
+    public void unbind() {
+        if (storage == null) return;
+        this.position = new Vector2(storage.get(handle, ArchetypeStorage.POS_X), storage.get(handle, ArchetypeStorage.POS_Y));
+        this.storage = null;
+        this.handle = -1;
+    }
+    
+    public boolean isBound() {
+        return storage != null;
+    }
+    
+    public int getHandle() {
+        return handle;
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        setPosition(0, 0);
+        capturePrevious();
+        this.scale = new Vector2(1, 1);
+        this.rotation = 0;
+        markChanged();
+    }
+    
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setPosition(newPosition);
     }
     
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        translate(delta.x, delta.y);
+    }
+    
+    public void translate(float dx, float dy) {
+        if (dx == 0 && dy == 0) return;
+        markChanged();
+        if (storage != null) {
+            storage.set(handle, ArchetypeStorage.POS_X, storage.get(handle, ArchetypeStorage.POS_X) + dx);
+            storage.set(handle, ArchetypeStorage.POS_Y, storage.get(handle, ArchetypeStorage.POS_Y) + dy);
+            return;
+        }
+        position.addLocal(dx, dy);
     }
     
     public void rotate(float angle) {
         this.rotation += angle;
+        markChanged();
     }
     
     public void setRotation(float angle) {
         this.rotation = angle;
+        markChanged();
     }
     
     public void scale(Vector2 scaleFactor) {
         this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        markChanged();
     }
     
     public void setScale(Vector2 newScale) {
         this.scale = new Vector2(newScale);
+        markChanged();
     }
     
     public Vector2 getPosition() {
-        return new Vector2(position);
+        return getPosition(new Vector2());
+    }
+    
+    /** 写入调用方提供的向量，不分配。 */
+    public Vector2 getPosition(Vector2 out) {
+        return out.set(getX(), getY());
+    }
+    
+    public float getX() {
+        return storage != null ? storage.get(handle, ArchetypeStorage.POS_X) : position.x;
+    }
+    
+    public float getY() {
+        return storage != null ? storage.get(handle, ArchetypeStorage.POS_Y) : position.y;
+    }
+    
+    /** 固定步开始时由 Scene 调用，记录本步之前的位置。 */
+    public void capturePrevious() {
+        this.previousX = getX();
+        this.previousY = getY();
+    }
+    
+    public float getPreviousX() {
+        return previousX;
+    }
+    
+    public float getPreviousY() {
+        return previousY;
+    }
+    
+    public float getInterpolatedX(float alpha) {
+        return previousX + (getX() - previousX) * alpha;
+    }
+    
+    public float getInterpolatedY(float alpha) {
+        return previousY + (getY() - previousY) * alpha;
+    }
+    
+    public Vector2 getInterpolatedPosition(float alpha, Vector2 out) {
+        return out.set(getInterpolatedX(alpha), getInterpolatedY(alpha));
     }
     
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setPosition(position.x, position.y);
+    }
+    
+    public void setPosition(float x, float y) {
+        if (getX() == x && getY() == y) return;
+        if (storage != null) {
+            storage.set(handle, ArchetypeStorage.POS_X, x);
+            storage.set(handle, ArchetypeStorage.POS_Y, y);
+        } else {
+            position.set(x, y);
+        }
+        markChanged();
     }
+
     
     public Vector2 getScale() {
         return new Vector2(scale);
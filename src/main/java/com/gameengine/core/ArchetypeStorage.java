@@ -0,0 +1,286 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 可选的 archetype 存储后端：把 Transform/Physics 数据按签名分组，存放在定长 chunk 的 float[] 列中。
+ * 实体用 int 句柄引用；TransformComponent/PhysicsComponent 绑定后只是这些列的视图。
+ * 由 Scene.enableArchetypeStorage() 启用，PhysicsSystem 检测到后直接按列积分。
+ */
+public final class ArchetypeStorage {
+    public static final int TRANSFORM = 1;
+    public static final int PHYSICS = 1 << 1;
+    private static final int SIGNATURE_COUNT = 4;
+
+    public static final int CHUNK_CAPACITY = 1024;
+
+    public static final int POS_X = 0;
+    public static final int POS_Y = 1;
+    public static final int VEL_X = 2;
+    public static final int VEL_Y = 3;
+    public static final int ACC_X = 4;
+    public static final int ACC_Y = 5;
+    public static final int FRICTION = 6;
+    public static final int GRAV_X = 7;
+    public static final int GRAV_Y = 8;
+    // 最近一次积分前的位置
+    public static final int PREV_X = 9;
+    public static final int PREV_Y = 10;
+    // 休眠判定：连续静止的 tick 数，以及是否允许休眠（1/0，允许且不受重力）
+    public static final int QUIET = 11;
+    public static final int SLEEP_OK = 12;
+    private static final int COLUMN_COUNT = 13;
+
+    public static final class Chunk {
+        private final float[][] columns = new float[COLUMN_COUNT][CHUNK_CAPACITY];
+        private final boolean[] enabled = new boolean[CHUNK_CAPACITY];
+        private final int[] handles = new int[CHUNK_CAPACITY];
+        private int size;
+
+        public float[] column(int column) {
+            return columns[column];
+        }
+
+        public boolean[] enabled() {
+            return enabled;
+        }
+        
+        public int[] handles() {
+            return handles;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    private static final class Archetype {
+        final List<Chunk> chunks = new ArrayList<>();
+        int size;
+    }
+
+    private final Archetype[] archetypes;
+    private int[] handleSignature;
+    private int[] handleIndex;
+    // 句柄 -> 绑定的组件，列式系统改写位置后据此通知变更、判定休眠后据此让物体休眠
+    private TransformComponent[] transforms;
+    private PhysicsComponent[] bodies;
+    private int[] freeHandles;
+    private int freeCount;
+    private int handleCount;
+
+    public ArchetypeStorage() {
+        this.archetypes = new Archetype[SIGNATURE_COUNT];
+        for (int i = 0; i < SIGNATURE_COUNT; i++) {
+            archetypes[i] = new Archetype();
+        }
+        this.handleSignature = new int[64];
+        this.handleIndex = new int[64];
+        this.transforms = new TransformComponent[64];
+        this.bodies = new PhysicsComponent[64];
+        this.freeHandles = new int[16];
+    }
+
+    public int create(int signature) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            handle = handleCount++;
+            if (handle >= handleSignature.length) {
+                handleSignature = Arrays.copyOf(handleSignature, handleSignature.length * 2);
+                handleIndex = Arrays.copyOf(handleIndex, handleIndex.length * 2);
+                transforms = Arrays.copyOf(transforms, transforms.length * 2);
+                bodies = Arrays.copyOf(bodies, bodies.length * 2);
+            }
+        }
+        handleSignature[handle] = signature;
+        handleIndex[handle] = append(archetypes[signature], handle);
+        return handle;
+    }
+
+    public void release(int handle) {
+        removeAt(archetypes[handleSignature[handle]], handleIndex[handle]);
+        handleSignature[handle] = 0;
+        transforms[handle] = null;
+        bodies[handle] = null;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+
+    public void setSignature(int handle, int signature) {
+        int oldSignature = handleSignature[handle];
+        if (oldSignature == signature) return;
+        Archetype from = archetypes[oldSignature];
+        int oldIndex = handleIndex[handle];
+        Chunk src = from.chunks.get(oldIndex / CHUNK_CAPACITY);
+        int srcRow = oldIndex % CHUNK_CAPACITY;
+
+        int newIndex = append(archetypes[signature], handle);
+        Chunk dst = chunk(archetypes[signature], newIndex);
+        int dstRow = newIndex % CHUNK_CAPACITY;
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            dst.columns[c][dstRow] = src.columns[c][srcRow];
+        }
+        dst.enabled[dstRow] = src.enabled[srcRow];
+
+        removeAt(from, oldIndex);
+        handleSignature[handle] = signature;
+        handleIndex[handle] = newIndex;
+    }
+
+    public int getSignature(int handle) {
+        return handleSignature[handle];
+    }
+
+    /** 系统直接改写位置列后调用，更新对应 TransformComponent 的版本和场景脏集合。 */
+    public void markChanged(int handle) {
+        TransformComponent transform = transforms[handle];
+        if (transform != null) {
+            transform.markChanged();
+        }
+    }
+    
+    public TransformComponent transformOf(int handle) {
+        return transforms[handle];
+    }
+    
+    public PhysicsComponent bodyOf(int handle) {
+        return bodies[handle];
+    }
+    
+    public float get(int handle, int column) {
+        int index = handleIndex[handle];
+        return chunk(archetypes[handleSignature[handle]], index).columns[column][index % CHUNK_CAPACITY];
+    }
+
+    public void set(int handle, int column, float value) {
+        int index = handleIndex[handle];
+        chunk(archetypes[handleSignature[handle]], index).columns[column][index % CHUNK_CAPACITY] = value;
+    }
+
+    public void setEnabled(int handle, boolean enabled) {
+        int index = handleIndex[handle];
+        chunk(archetypes[handleSignature[handle]], index).enabled[index % CHUNK_CAPACITY] = enabled;
+    }
+
+    /** signature 对应 archetype 当前占用的 chunk 数，系统配合 chunkAt 按列遍历。 */
+    public int chunkCount(int signature) {
+        Archetype archetype = archetypes[signature];
+        return (archetype.size + CHUNK_CAPACITY - 1) / CHUNK_CAPACITY;
+    }
+
+    public Chunk chunkAt(int signature, int i) {
+        return archetypes[signature].chunks.get(i);
+    }
+
+    public static boolean matches(int signature, int required) {
+        return (signature & required) == required;
+    }
+
+    public static int signatureCount() {
+        return SIGNATURE_COUNT;
+    }
+
+    public int size() {
+        return handleCount - freeCount;
+    }
+
+    // ---------- 与 GameObject 组件的绑定 ----------
+
+    public void attach(GameObject obj) {
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform == null || transform.isBound()) return;
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        int handle = create(physics != null ? TRANSFORM | PHYSICS : TRANSFORM);
+        transform.bind(this, handle);
+        transforms[handle] = transform;
+        if (physics != null) {
+            physics.bind(this, handle);
+            bodies[handle] = physics;
+        }
+    }
+
+    public void onComponentAdded(Component<?> component) {
+        GameObject owner = component.getOwner();
+        if (owner == null) return;
+        if (component instanceof TransformComponent) {
+            attach(owner);
+        } else if (component instanceof PhysicsComponent) {
+            TransformComponent transform = owner.getComponent(TransformComponent.class);
+            PhysicsComponent physics = (PhysicsComponent) component;
+            if (transform != null && transform.isBound() && !physics.isBound()
+                    && owner.getComponent(PhysicsComponent.class) == physics) {
+                setSignature(transform.getHandle(), TRANSFORM | PHYSICS);
+                physics.bind(this, transform.getHandle());
+                bodies[transform.getHandle()] = physics;
+            }
+        }
+    }
+
+    public void onComponentRemoved(Component<?> component) {
+        if (component instanceof TransformComponent) {
+            TransformComponent transform = (TransformComponent) component;
+            if (!transform.isBound()) return;
+            int handle = transform.getHandle();
+            GameObject owner = transform.getOwner();
+            PhysicsComponent physics = owner != null ? owner.getComponent(PhysicsComponent.class) : null;
+            if (physics != null && physics.isBound()) {
+                physics.unbind();
+            }
+            transform.unbind();
+            release(handle);
+        } else if (component instanceof PhysicsComponent) {
+            PhysicsComponent physics = (PhysicsComponent) component;
+            if (!physics.isBound()) return;
+            int handle = physics.getHandle();
+            physics.unbind();
+            bodies[handle] = null;
+            setSignature(handle, TRANSFORM);
+        }
+    }
+
+    // ---------- 内部：行分配与 swap-remove ----------
+
+    private int append(Archetype archetype, int handle) {
+        int index = archetype.size++;
+        int chunkIndex = index / CHUNK_CAPACITY;
+        if (chunkIndex == archetype.chunks.size()) {
+            archetype.chunks.add(new Chunk());
+        }
+        Chunk chunk = archetype.chunks.get(chunkIndex);
+        int row = index % CHUNK_CAPACITY;
+        chunk.handles[row] = handle;
+        chunk.size = row + 1;
+        return index;
+    }
+
+    private void removeAt(Archetype archetype, int index) {
+        int last = --archetype.size;
+        Chunk lastChunk = chunk(archetype, last);
+        int lastRow = last % CHUNK_CAPACITY;
+        if (index != last) {
+            Chunk chunk = chunk(archetype, index);
+            int row = index % CHUNK_CAPACITY;
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                chunk.columns[c][row] = lastChunk.columns[c][lastRow];
+            }
+            chunk.enabled[row] = lastChunk.enabled[lastRow];
+            int moved = lastChunk.handles[lastRow];
+            chunk.handles[row] = moved;
+            handleIndex[moved] = index;
+        }
+        lastChunk.size = lastRow;
+    }
+
+    private static Chunk chunk(Archetype archetype, int index) {
+        return archetype.chunks.get(index / CHUNK_CAPACITY);
+    }
+}
@@ -0,0 +1,293 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * AI 之间的避让：按格子分桶，每对邻居只计算一次，作用力对称地累加到双方的缓冲。
+ * 格子边长不小于避让半径，一个格子只需要和自身及右、左下、下、右下四个格子配对；
+ * 这样写入只落在本行和下一行，先并行处理偶数行再处理奇数行，不需要加锁，累加顺序也与线程数无关。
+ */
+final class AvoidanceSolver {
+    // 少于这个数量的 AI 直接在调用线程完成
+    private static final int SERIAL_THRESHOLD = 2048;
+    // 并行时每个叶子任务大约处理的 AI 数
+    private static final int LEAF_AGENTS = 1024;
+    private static final float STRENGTH = 50f;
+    private static final float LERP_FACTOR = 0.15f;
+    private static final float MAX_SPEED = 150f;
+
+    private final float radius;
+    private final float radiusSq;
+    private float deltaTime;
+
+    // 按格子排好序的 AI，下标即槽位
+    private int count;
+    private PhysicsComponent[] bodies = new PhysicsComponent[64];
+    private float[] posX = new float[64];
+    private float[] posY = new float[64];
+    private float[] forceX = new float[64];
+    private float[] forceY = new float[64];
+    // 收集阶段的原始顺序和所在格子
+    private PhysicsComponent[] rawBodies = new PhysicsComponent[64];
+    private float[] rawX = new float[64];
+    private float[] rawY = new float[64];
+    private int[] rawCell = new int[64];
+
+    private float originX;
+    private float originY;
+    private float inverseCellSize;
+    private int columns;
+    private int rows;
+    // cellStart[c]..cellStart[c + 1] 是格子 c 的槽位区间
+    private int[] cellStart = new int[2];
+
+    AvoidanceSolver(float radius) {
+        this.radius = radius;
+        this.radiusSq = radius * radius;
+    }
+
+    void solve(List<GameObject> agents, float deltaTime, ForkJoinPool pool) {
+        this.deltaTime = deltaTime;
+        collect(agents);
+        if (count < 2) return;
+        buildGrid();
+        Arrays.fill(forceX, 0, count, 0f);
+        Arrays.fill(forceY, 0, count, 0f);
+
+        if (count < SERIAL_THRESHOLD) {
+            // 与并行路径相同的先偶后奇顺序
+            for (int row = 0; row < rows; row += 2) {
+                accumulateRow(row);
+            }
+            for (int row = 1; row < rows; row += 2) {
+                accumulateRow(row);
+            }
+            applyRange(0, count);
+            return;
+        }
+        int evenRows = (rows + 1) / 2;
+        int oddRows = rows / 2;
+        pool.invoke(new RowTask(0, 0, evenRows));
+        if (oddRows > 0) {
+            pool.invoke(new RowTask(1, 0, oddRows));
+        }
+        pool.invoke(new ApplyTask(0, count));
+    }
+
+    private void collect(List<GameObject> agents) {
+        int n = agents.size();
+        ensureCapacity(n);
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            GameObject agent = agents.get(i);
+            if (!agent.isActive()) continue;
+            TransformComponent transform = agent.getComponent(TransformComponent.class);
+            PhysicsComponent physics = agent.getComponent(PhysicsComponent.class);
+            if (transform == null || physics == null) continue;
+            rawBodies[count] = physics;
+            rawX[count] = transform.getX();
+            rawY[count] = transform.getY();
+            count++;
+        }
+        for (int i = count; i < n; i++) {
+            rawBodies[i] = null;
+        }
+    }
+
+    // 包围盒上铺格子，计数排序把 AI 按格子连续存放；格子过多时放大边长，只会多算几对不会漏
+    private void buildGrid() {
+        float minX = rawX[0], maxX = minX, minY = rawY[0], maxY = minY;
+        for (int i = 1; i < count; i++) {
+            float x = rawX[i];
+            float y = rawY[i];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        long maxCells = Math.max(1024L, (long) count * 4);
+        float cellSize = radius;
+        while (true) {
+            long c = (long) ((maxX - minX) / cellSize) + 1;
+            long r = (long) ((maxY - minY) / cellSize) + 1;
+            if (c * r <= maxCells) {
+                columns = (int) c;
+                rows = (int) r;
+                break;
+            }
+            cellSize *= 2;
+        }
+        originX = minX;
+        originY = minY;
+        inverseCellSize = 1f / cellSize;
+
+        int cells = columns * rows;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+        }
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        for (int i = 0; i < count; i++) {
+            int cx = Math.min(columns - 1, (int) ((rawX[i] - originX) * inverseCellSize));
+            int cy = Math.min(rows - 1, (int) ((rawY[i] - originY) * inverseCellSize));
+            int cell = cy * columns + cx;
+            rawCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        // 按原始顺序填入，同一格子内保持场景中的先后次序
+        for (int i = 0; i < count; i++) {
+            int slot = cellStart[rawCell[i]]++;
+            bodies[slot] = rawBodies[i];
+            posX[slot] = rawX[i];
+            posY[slot] = rawY[i];
+        }
+        for (int c = cells; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    private void accumulateRow(int row) {
+        boolean hasNext = row + 1 < rows;
+        for (int cx = 0; cx < columns; cx++) {
+            int cell = row * columns + cx;
+            int start = cellStart[cell];
+            int end = cellStart[cell + 1];
+            if (start == end) continue;
+            for (int a = start; a < end; a++) {
+                pairWithRange(a, a + 1, end);
+            }
+            if (cx + 1 < columns) pairCells(start, end, cell + 1);
+            if (hasNext) {
+                int below = cell + columns;
+                if (cx > 0) pairCells(start, end, below - 1);
+                pairCells(start, end, below);
+                if (cx + 1 < columns) pairCells(start, end, below + 1);
+            }
+        }
+    }
+
+    private void pairCells(int start, int end, int otherCell) {
+        int otherStart = cellStart[otherCell];
+        int otherEnd = cellStart[otherCell + 1];
+        if (otherStart == otherEnd) return;
+        for (int a = start; a < end; a++) {
+            pairWithRange(a, otherStart, otherEnd);
+        }
+    }
+
+    private void pairWithRange(int a, int from, int to) {
+        float xa = posX[a];
+        float ya = posY[a];
+        float fxa = 0;
+        float fya = 0;
+        for (int b = from; b < to; b++) {
+            float dx = xa - posX[b];
+            float dy = ya - posY[b];
+            float distSq = dx * dx + dy * dy;
+            if (distSq >= radiusSq || distSq == 0) continue;
+            float distance = (float) Math.sqrt(distSq);
+            float scale = (radius - distance) / radius * STRENGTH / distance;
+            float fx = dx * scale;
+            float fy = dy * scale;
+            fxa += fx;
+            fya += fy;
+            forceX[b] -= fx;
+            forceY[b] -= fy;
+        }
+        forceX[a] += fxa;
+        forceY[a] += fya;
+    }
+
+    // 目标速度 = 当前速度 + 避让推力，再按 LERP_FACTOR 靠近
+    private void applyRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            float avoidX = forceX[i];
+            float avoidY = forceY[i];
+            float magnitude = (float) Math.sqrt(avoidX * avoidX + avoidY * avoidY);
+            if (magnitude <= 0) continue;
+            PhysicsComponent physics = bodies[i];
+            float push = Math.min(magnitude, STRENGTH) * deltaTime * 10 / magnitude;
+            float velX = physics.getVelocityX() + avoidX * push * LERP_FACTOR;
+            float velY = physics.getVelocityY() + avoidY * push * LERP_FACTOR;
+            float speed = (float) Math.sqrt(velX * velX + velY * velY);
+            if (speed > MAX_SPEED) {
+                velX = velX / speed * MAX_SPEED;
+                velY = velY / speed * MAX_SPEED;
+            }
+            physics.setVelocity(velX, velY);
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (rawBodies.length >= n) return;
+        int capacity = Math.max(n, rawBodies.length * 2);
+        bodies = new PhysicsComponent[capacity];
+        posX = new float[capacity];
+        posY = new float[capacity];
+        forceX = new float[capacity];
+        forceY = new float[capacity];
+        rawBodies = new PhysicsComponent[capacity];
+        rawX = new float[capacity];
+        rawY = new float[capacity];
+        rawCell = new int[capacity];
+    }
+
+    // 处理同奇偶的行 parity + 2k（k 在 from..to），互不相邻所以写入不重叠
+    private final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int parity;
+        private final int from;
+        private final int to;
+
+        RowTask(int parity, int from, int to) {
+            this.parity = parity;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int firstRow = parity + 2 * from;
+            int lastRow = Math.min(rows, parity + 2 * to);
+            int agents = cellStart[lastRow * columns] - cellStart[firstRow * columns];
+            if (to - from == 1 || agents <= LEAF_AGENTS) {
+                for (int k = from; k < to; k++) {
+                    accumulateRow(parity + 2 * k);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(parity, from, mid), new RowTask(parity, mid, to));
+        }
+    }
+
+    private final class ApplyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        ApplyTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_AGENTS) {
+                applyRange(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ApplyTask(from, mid), new ApplyTask(mid, to));
+        }
+    }
+}
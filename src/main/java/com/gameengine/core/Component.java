@@ -1,9 +1,14 @@
 package com.gameengine.core;
 
-public abstract class Component<T extends Component<T>> {
+public abstract class Component<T extends Component<T>> implements Poolable {
     protected GameObject owner;
     protected boolean enabled;
     protected String name;
+    // 数据每变化一次加一，消费者记住上次看到的值即可判断是否变化
+    private int version;
+    // 在场景组件索引各桶中的下标（顺序同 ComponentType.hierarchyOf）和在并行列表中的下标，由 Scene 维护
+    private int[] indexSlots;
+    private int parallelSlot;
     
     public Component() {
         this.enabled = true;
@@ -21,11 +26,50 @@ public abstract class Component<T extends Component<T>> {
         this.enabled = false;
     }
     
+    /** 所属 GameObject 被对象池回收时调用，子类在此恢复初始状态。 */
+    @Override
+    public void reset() {
+        this.enabled = true;
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    /** 子类在可见数据变化时调用：版本加一，并把所属对象记入场景本帧的脏集合。 */
+    protected void markChanged() {
+        version++;
+        if (owner != null) {
+            owner.markChanged();
+        }
+    }
+    
+    // 只加版本号，所属对象由调用方成批记入脏集合（见 IntegrationKernel.notifyMoved）
+    void bumpVersion() {
+        version++;
+    }
+    
     @SuppressWarnings("unchecked")
     public Class<T> getComponentType() {
         return (Class<T>) this.getClass();
     }
     
+    public int[] getIndexSlots() {
+        return indexSlots;
+    }
+    
+    public void setIndexSlots(int[] indexSlots) {
+        this.indexSlots = indexSlots;
+    }
+    
+    public int getParallelSlot() {
+        return parallelSlot;
+    }
+    
+    public void setParallelSlot(int parallelSlot) {
+        this.parallelSlot = parallelSlot;
+    }
+    
     public GameObject getOwner() {
         return owner;
     }
@@ -0,0 +1,62 @@
+package com.gameengine.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 组件类型注册表：为每个组件类分配一个从 0 开始的紧凑 int ID。
+ * GameObject 用它做槽位数组下标和位集签名，Scene 用它做组件索引下标。
+ */
+public final class ComponentType {
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private static final ClassValue<Integer> ids = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return nextId.getAndIncrement();
+        }
+    };
+
+    // 自身及所有父类（不含 Component 本身）的 ID，查询父类型时也能命中子类组件
+    private static final ClassValue<int[]> hierarchies = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            int depth = 0;
+            for (Class<?> c = type; c != null && c != Component.class; c = c.getSuperclass()) {
+                depth++;
+            }
+            int[] result = new int[depth];
+            int i = 0;
+            for (Class<?> c = type; c != null && c != Component.class; c = c.getSuperclass()) {
+                result[i++] = idOf(c);
+            }
+            return result;
+        }
+    };
+
+    private ComponentType() {}
+
+    public static int idOf(Class<?> type) {
+        return ids.get(type);
+    }
+
+    public static int[] hierarchyOf(Class<?> type) {
+        return hierarchies.get(type);
+    }
+
+    public static int count() {
+        return nextId.get();
+    }
+
+    public static long[] mask(Class<?>... types) {
+        int maxId = 0;
+        for (Class<?> type : types) {
+            maxId = Math.max(maxId, idOf(type));
+        }
+        long[] mask = new long[(maxId >> 6) + 1];
+        for (Class<?> type : types) {
+            int id = idOf(type);
+            mask[id >> 6] |= 1L << id;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+/**
+ * 带代数（generation）的实体 ID 分配器。
+ * ID 低 20 位是槽位下标，高位是该槽位的代数；槽位回收再分配时代数加一，
+ * 因此旧 ID 不会误指向新实体。
+ */
+public final class EntityIdAllocator {
+    public static final int NULL = -1;
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = 0x7FF;
+
+    private int[] generations;
+    private boolean[] alive;
+    private int[] freeIndices;
+    private int freeCount;
+    private int nextIndex;
+
+    public EntityIdAllocator() {
+        this.generations = new int[64];
+        this.alive = new boolean[64];
+        this.freeIndices = new int[16];
+    }
+
+    public int allocate() {
+        int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            if (nextIndex > INDEX_MASK) {
+                throw new IllegalStateException("实体数量超出上限: " + (INDEX_MASK + 1));
+            }
+            index = nextIndex++;
+            if (index >= generations.length) {
+                generations = Arrays.copyOf(generations, generations.length * 2);
+                alive = Arrays.copyOf(alive, alive.length * 2);
+            }
+        }
+        alive[index] = true;
+        return (generations[index] << INDEX_BITS) | index;
+    }
+
+    public void release(int id) {
+        if (!isAlive(id)) return;
+        int index = indexOf(id);
+        alive[index] = false;
+        generations[index] = (generations[index] + 1) & GENERATION_MASK;
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+        }
+        freeIndices[freeCount++] = index;
+    }
+
+    public boolean isAlive(int id) {
+        if (id == NULL) return false;
+        int index = indexOf(id);
+        return index < nextIndex && alive[index] && generations[index] == generationOf(id);
+    }
+
+    /** 当前已用槽位的上界，可用作按下标索引的数组大小。 */
+    public int capacity() {
+        return nextIndex;
+    }
+
+    public static int indexOf(int id) {
+        return id & INDEX_MASK;
+    }
+
+    public static int generationOf(int id) {
+        return (id >>> INDEX_BITS) & GENERATION_MASK;
+    }
+}
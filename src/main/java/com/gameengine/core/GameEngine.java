@@ -1,11 +1,17 @@
 package com.gameengine.core;
 
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.graphics.RenderBackend;
 import com.gameengine.graphics.RendererFactory;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.LongConsumer;
 
 public class GameEngine {
     private IRenderer renderer;
@@ -16,10 +22,21 @@ public class GameEngine {
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
+    // 固定步长：墙钟时间累加后按 tickRate 消耗，与渲染帧率 targetFPS 独立
+    private float tickRate;
+    private float fixedDeltaTime;
+    private int maxStepsPerFrame;
+    private float accumulator;
+    // 确定性模式：场景使用固定种子，每个固定步结束后计算状态哈希
+    private boolean deterministic;
+    private long deterministicSeed;
+    private long lastStateHash;
+    private LongConsumer stateHashListener;
     @SuppressWarnings("unused")
     private String title;
     // 新录制服务（可选）
     private com.gameengine.recording.RecordingService recordingService;
+    private final SystemScheduler scheduler;
     
     public GameEngine(int width, int height, String title) {
         this(width, height, title, RenderBackend.GPU);
@@ -33,7 +50,77 @@ public class GameEngine {
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
         this.lastTime = System.nanoTime();
+        this.maxStepsPerFrame = 8;
+        setTickRate(120.0f);
+        this.scheduler = new SystemScheduler();
+        registerCoreSystems();
+    }
+    
+    // 内置系统按原先的串行顺序注册；调度器根据读写声明决定哪些可以并行
+    private void registerCoreSystems() {
+        scheduler.addSystem(GameSystem.of("Scene", GameSystem.ALL, GameSystem.ALL, dt -> {
+            if (currentScene != null) {
+                currentScene.update(dt);
+            }
+        }));
+        scheduler.addSystem(new DelegatingSystem("Physics",
+            Collections.emptySet(),
+            Set.of(TransformComponent.class, PhysicsComponent.class)) {
+            @Override
+            public boolean isEnabled() {
+                return physicsSystem != null;
+            }
+            
+            @Override
+            public void update(float dt) {
+                PhysicsSystem physics = physicsSystem;
+                if (physics != null) {
+                    physics.update(dt);
+                }
+            }
+        });
+        scheduler.addSystem(new DelegatingSystem("Recording",
+            Set.of(TransformComponent.class, RenderComponent.class, InputManager.class),
+            Collections.emptySet()) {
+            @Override
+            public boolean isEnabled() {
+                return recordingService != null && recordingService.isRecording();
+            }
+            
+            @Override
+            public void update(float dt) {
+                recordingService.update(dt, currentScene, inputManager);
+            }
+        });
+        scheduler.addSystem(GameSystem.of("Input", Collections.emptySet(), Set.of(InputManager.class),
+            dt -> inputManager.update()));
+    }
+    
+    private abstract static class DelegatingSystem implements GameSystem {
+        private final String name;
+        private final Set<Class<?>> reads;
+        private final Set<Class<?>> writes;
+        
+        DelegatingSystem(String name, Set<Class<?>> reads, Set<Class<?>> writes) {
+            this.name = name;
+            this.reads = reads;
+            this.writes = writes;
+        }
         
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public Set<Class<?>> getReads() {
+            return reads;
+        }
+        
+        @Override
+        public Set<Class<?>> getWrites() {
+            return writes;
+        }
     }
     
     public boolean initialize() {
@@ -59,6 +146,8 @@ public class GameEngine {
         }
         
         long lastFrameTime = System.nanoTime();
+        lastTime = lastFrameTime;
+        accumulator = 0.0f;
         long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
         
         while (running) {
@@ -93,22 +182,27 @@ public class GameEngine {
         
         renderer.pollEvents();
         
-        
-        
-        if (currentScene != null) {
-            currentScene.update(deltaTime);
+        // 超过 maxStepsPerFrame 的积压直接丢弃，避免卡顿后越追越慢
+        accumulator += deltaTime;
+        int steps = 0;
+        while (accumulator >= fixedDeltaTime && steps < maxStepsPerFrame && running) {
+            scheduler.update(fixedDeltaTime);
+            if (deterministic && currentScene != null) {
+                lastStateHash = StateHash.of(currentScene);
+                if (stateHashListener != null) {
+                    stateHashListener.accept(lastStateHash);
+                }
+            }
+            accumulator -= fixedDeltaTime;
+            steps++;
         }
-        
-        if (physicsSystem != null) {
-            physicsSystem.update(deltaTime);
+        if (accumulator >= fixedDeltaTime) {
+            accumulator %= fixedDeltaTime;
         }
-        
-        if (recordingService != null && recordingService.isRecording()) {
-            recordingService.update(deltaTime, currentScene, inputManager);
+        if (currentScene != null) {
+            currentScene.setInterpolationAlpha(accumulator / fixedDeltaTime);
         }
         
-        inputManager.update();
-        
         // Removed hardcoded ESC exit to allow scenes to handle it
         /*
         if (inputManager.isKeyPressed(27)) {
@@ -144,6 +238,11 @@ public class GameEngine {
             currentScene.clear();
         }
         this.currentScene = scene;
+        if (scene != null && deterministic) {
+            scene.setRandomSeed(deterministicSeed);
+            // 按耗时限流会让执行集合随机器快慢变化
+            scene.getUpdateLod().setBudgetEnabled(false);
+        }
         if (scene != null) {
             if (running) {
                 scene.initialize();
@@ -172,6 +271,7 @@ public class GameEngine {
         if (currentScene != null) {
             currentScene.clear();
         }
+        scheduler.cleanup();
         renderer.cleanup();
     }
 
@@ -200,6 +300,15 @@ public class GameEngine {
         return renderer;
     }
     
+    /** 注册自定义系统，排在已注册系统之后并按读写声明参与并行调度。 */
+    public void addSystem(GameSystem system) {
+        scheduler.addSystem(system);
+    }
+    
+    public SystemScheduler getScheduler() {
+        return scheduler;
+    }
+    
     public InputManager getInputManager() {
         return inputManager;
     }
@@ -216,6 +325,52 @@ public class GameEngine {
         return targetFPS;
     }
     
+    /** 模拟频率（每秒固定步数），默认 120。 */
+    public void setTickRate(float hz) {
+        this.tickRate = hz;
+        this.fixedDeltaTime = 1.0f / hz;
+    }
+    
+    public float getTickRate() {
+        return tickRate;
+    }
+    
+    public float getFixedDeltaTime() {
+        return fixedDeltaTime;
+    }
+    
+    public void setMaxStepsPerFrame(int maxSteps) {
+        this.maxStepsPerFrame = Math.max(1, maxSteps);
+    }
+    
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+    
+    /**
+     * 确定性模式：之后设置的场景（以及当前场景此后创建的随机流）使用该种子，
+     * 每个固定步后计算 StateHash 并通知监听者。相同种子和相同逐 tick 输入下哈希序列与线程数无关。
+     */
+    public void enableDeterministicMode(long seed) {
+        this.deterministic = true;
+        this.deterministicSeed = seed;
+        if (currentScene != null) {
+            currentScene.setRandomSeed(seed);
+        }
+    }
+    
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+    
+    public long getLastStateHash() {
+        return lastStateHash;
+    }
+    
+    public void setStateHashListener(LongConsumer listener) {
+        this.stateHashListener = listener;
+    }
+    
     public boolean isRunning() {
         return running;
     }
@@ -1,54 +1,53 @@
 package com.gameengine.core;
 
+import com.gameengine.components.AISteeringComponent;
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.input.InputManager;
-import com.gameengine.math.Vector2;
+import com.gameengine.physics.Contact;
 import com.gameengine.scene.Scene;
+import com.gameengine.scene.UpdateLod;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
 
 public class GameLogic {
+    public static final String PLAYER_TAG = "Player";
+    public static final String AI_PLAYER_TAG = "AIPlayer";
+    private static final float AVOIDANCE_RADIUS = 80f;
+    // 碰撞层位：AI 只与玩家碰撞，彼此之间靠避让分开
+    public static final int PLAYER_LAYER = 1;
+    public static final int AI_PLAYER_LAYER = 1 << 1;
+    // 玩家与 AI 的碰撞半径，两者相距 30 即接触
+    public static final float BODY_RADIUS = 15f;
+    
     private Scene scene;
     private InputManager inputManager;
-    private Random random;
     private boolean gameOver;
+    private boolean playerHit;
     private GameEngine gameEngine;
-    private Map<GameObject, Vector2> aiTargetVelocities;
-    private Map<GameObject, Float> aiTargetUpdateTimers;
-    private ExecutorService avoidanceExecutor;
+    private final AvoidanceSolver avoidance = new AvoidanceSolver(AVOIDANCE_RADIUS);
     
     public GameLogic(Scene scene) {
         this.scene = scene;
         this.inputManager = InputManager.getInstance();
-        this.random = new Random();
         this.gameOver = false;
-        this.aiTargetVelocities = new HashMap<>();
-        this.aiTargetUpdateTimers = new HashMap<>();
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.avoidanceExecutor = Executors.newFixedThreadPool(threadCount);
+        scene.getCollisionSystem().addListener(PLAYER_LAYER, this::onPlayerContacts);
     }
     
-    public void cleanup() {
-        if (avoidanceExecutor != null && !avoidanceExecutor.isShutdown()) {
-            avoidanceExecutor.shutdown();
-            try {
-                if (!avoidanceExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    avoidanceExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                avoidanceExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+    public static ColliderComponent createPlayerCollider() {
+        return ColliderComponent.circle(BODY_RADIUS).setLayer(PLAYER_LAYER).setMask(AI_PLAYER_LAYER);
+    }
+    
+    public static ColliderComponent createAIPlayerCollider() {
+        return ColliderComponent.circle(BODY_RADIUS).setLayer(AI_PLAYER_LAYER).setMask(PLAYER_LAYER);
+    }
+    
+    // 碰撞系统在 Scene.update 末尾回调，这里只记下结果，由 checkCollisions 结算
+    private void onPlayerContacts(List<Contact> entered, List<Contact> stayed, List<Contact> exited) {
+        if (!entered.isEmpty() || !stayed.isEmpty()) {
+            playerHit = true;
         }
     }
     
@@ -61,19 +60,19 @@ public class GameLogic {
     }
     
     public GameObject getUserPlayer() {
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Player") && obj.hasComponent(PhysicsComponent.class)) {
+        List<GameObject> players = scene.findByTag(PLAYER_TAG);
+        for (int i = 0; i < players.size(); i++) {
+            GameObject obj = players.get(i);
+            if (obj.hasComponent(PhysicsComponent.class)) {
                 return obj;
             }
         }
         return null;
     }
     
+    /** 场景标签索引的只读实时视图，不分配；包含已失活的 AI，调用方需跳过 !isActive() 的对象。 */
     public List<GameObject> getAIPlayers() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("AIPlayer"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return scene.findByTag(AI_PLAYER_TAG);
     }
     
     public void handlePlayerInput(float deltaTime) {
@@ -87,208 +86,100 @@ public class GameLogic {
         
         if (transform == null || physics == null) return;
         
-        Vector2 movement = new Vector2();
+        float moveX = 0;
+        float moveY = 0;
         
         // W / UpArrow (AWT=38, GLFW=265)
         if (inputManager.isKeyPressed(87) || inputManager.isKeyPressed(38) || inputManager.isKeyPressed(265)) {
-            movement.y -= 1;
+            moveY -= 1;
         }
         // S / DownArrow (AWT=40, GLFW=264)
         if (inputManager.isKeyPressed(83) || inputManager.isKeyPressed(40) || inputManager.isKeyPressed(264)) {
-            movement.y += 1;
+            moveY += 1;
         }
         // A / LeftArrow (AWT=37, GLFW=263)
         if (inputManager.isKeyPressed(65) || inputManager.isKeyPressed(37) || inputManager.isKeyPressed(263)) {
-            movement.x -= 1;
+            moveX -= 1;
         }
         // D / RightArrow (AWT=39, GLFW=262)
         if (inputManager.isKeyPressed(68) || inputManager.isKeyPressed(39) || inputManager.isKeyPressed(262)) {
-            movement.x += 1;
+            moveX += 1;
         }
         
-        if (movement.magnitude() > 0) {
-            movement = movement.normalize().multiply(200);
-            physics.setVelocity(movement);
+        float moveLength = (float) Math.sqrt(moveX * moveX + moveY * moveY);
+        if (moveLength > 0) {
+            physics.setVelocity(moveX / moveLength * 200, moveY / moveLength * 200);
         }
         
-        Vector2 pos = transform.getPosition();
         int screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
         int screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
-        if (pos.x < 0) pos.x = 0;
-        if (pos.y < 0) pos.y = 0;
-        if (pos.x > screenW - 20) pos.x = screenW - 20;
-        if (pos.y > screenH - 20) pos.y = screenH - 20;
-        transform.setPosition(pos);
+        float x = Math.max(0, Math.min(screenW - 20, transform.getX()));
+        float y = Math.max(0, Math.min(screenH - 20, transform.getY()));
+        transform.setPosition(x, y);
     }
     
+    /** 遍历场景中 AISteeringComponent 的稠密列表，状态都是基本类型字段，循环中不装箱、不查哈希表。 */
     public void handleAIPlayerMovement(float deltaTime) {
         if (gameOver) return;
         
-        List<GameObject> aiPlayers = getAIPlayers();
+        List<AISteeringComponent> agents = scene.getComponents(AISteeringComponent.class);
+        UpdateLod lod = scene.getUpdateLod();
         
-        for (GameObject aiPlayer : aiPlayers) {
+        for (int i = 0; i < agents.size(); i++) {
+            AISteeringComponent steering = agents.get(i);
+            GameObject aiPlayer = steering.getOwner();
+            if (!steering.isEnabled() || aiPlayer == null || !aiPlayer.isActive()) continue;
             PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
             if (physics == null) continue;
+            TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
+            UpdateLod.Level level = transform != null
+                ? lod.levelOf(transform.getX(), transform.getY()) : UpdateLod.Level.EVERY_TICK;
             
-            if (!aiTargetVelocities.containsKey(aiPlayer)) {
-                Vector2 initialTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
-                );
-                aiTargetVelocities.put(aiPlayer, initialTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
+            SplittableRandom random = steering.getRandom();
+            if (!steering.hasTarget()) {
+                steering.setTargetVelocity((random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150);
             }
             
-            float timer = aiTargetUpdateTimers.get(aiPlayer) + deltaTime;
-            aiTargetUpdateTimers.put(aiPlayer, timer);
+            float timer = steering.advanceTimer(deltaTime);
+            boolean due = lod.isDue(level, aiPlayer.getId());
+            lod.record(level, due);
+            if (!due) continue;
             
             if (timer >= (2.0f + random.nextFloat() * 2.0f)) {
-                Vector2 newTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
-                );
-                aiTargetVelocities.put(aiPlayer, newTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
+                steering.setTargetVelocity((random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150);
             }
             
-            Vector2 currentVelocity = physics.getVelocity();
-            Vector2 targetVelocity = aiTargetVelocities.get(aiPlayer);
-            
-            float lerpFactor = 0.1f;
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
-            
-            float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
-            }
-            
-            physics.setVelocity(newVelocity);
+            // 降频时一次补上跳过的 tick：k 次系数为 f 的插值等价于一次系数为 1-(1-f)^k
+            int ticks = lod.ticksPerUpdate(level);
+            float lerpFactor = ticks == 1 ? 0.1f : 1 - (float) Math.pow(0.9, ticks);
+            float velX = physics.getVelocityX();
+            float velY = physics.getVelocityY();
+            velX += (steering.getTargetVelocityX() - velX) * lerpFactor;
+            velY += (steering.getTargetVelocityY() - velY) * lerpFactor;
+            setClampedVelocity(physics, velX, velY, 150f);
         }
     }
     
-    
+    /** 对称避让，见 AvoidanceSolver；AI 较多时在场景的并行线程池中分块执行。 */
     public void handleAIPlayerAvoidance(float deltaTime) {
         if (gameOver) return;
-        
-        List<GameObject> aiPlayers = getAIPlayers();
-        if (aiPlayers.isEmpty()) return;
-        
-        if (aiPlayers.size() < 10) {
-            handleAIPlayerAvoidanceSerial(aiPlayers, deltaTime);
-        } else {
-            handleAIPlayerAvoidanceParallel(aiPlayers, deltaTime);
-        }
-    }
-    
-    private void handleAIPlayerAvoidanceSerial(List<GameObject> aiPlayers, float deltaTime) {
-        for (int i = 0; i < aiPlayers.size(); i++) {
-            processAvoidanceForPlayer(aiPlayers, i, deltaTime);
-        }
-    }
-    
-    private void handleAIPlayerAvoidanceParallel(List<GameObject> aiPlayers, float deltaTime) {
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, aiPlayers.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < aiPlayers.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, aiPlayers.size());
-            
-            Future<?> future = avoidanceExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    processAvoidanceForPlayer(aiPlayers, j, deltaTime);
-                }
-            });
-            
-            futures.add(future);
-        }
-        
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+        avoidance.solve(getAIPlayers(), deltaTime, scene.getParallelPool());
     }
     
-    private void processAvoidanceForPlayer(List<GameObject> aiPlayers, int index, float deltaTime) {
-        GameObject aiPlayer1 = aiPlayers.get(index);
-        TransformComponent transform1 = aiPlayer1.getComponent(TransformComponent.class);
-        PhysicsComponent physics1 = aiPlayer1.getComponent(PhysicsComponent.class);
-        
-        if (transform1 == null || physics1 == null) return;
-        
-        Vector2 pos1 = transform1.getPosition();
-        Vector2 avoidance = new Vector2();
-        
-        for (int j = index + 1; j < aiPlayers.size(); j++) {
-            GameObject aiPlayer2 = aiPlayers.get(j);
-            TransformComponent transform2 = aiPlayer2.getComponent(TransformComponent.class);
-            
-            if (transform2 == null) continue;
-            
-            Vector2 pos2 = transform2.getPosition();
-            float distance = pos1.distance(pos2);
-            
-            if (distance < 80 && distance > 0) {
-                Vector2 direction = pos1.subtract(pos2).normalize();
-                float strength = (80 - distance) / 80.0f;
-                avoidance = avoidance.add(direction.multiply(strength * 50));
-            }
-        }
-        
-        if (avoidance.magnitude() > 0) {
-            Vector2 currentVelocity = physics1.getVelocity();
-            float lerpFactor = 0.15f;
-            Vector2 avoidanceDirection = avoidance.normalize();
-            float avoidanceStrength = Math.min(avoidance.magnitude(), 50f);
-            
-            Vector2 targetVelocity = currentVelocity.add(
-                avoidanceDirection.multiply(avoidanceStrength * deltaTime * 10)
-            );
-            
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
-            
-            float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
-            }
-            
-            physics1.setVelocity(newVelocity);
+    private static void setClampedVelocity(PhysicsComponent physics, float velX, float velY, float maxSpeed) {
+        float speed = (float) Math.sqrt(velX * velX + velY * velY);
+        if (speed > maxSpeed) {
+            velX = velX / speed * maxSpeed;
+            velY = velY / speed * maxSpeed;
         }
+        physics.setVelocity(velX, velY);
     }
     
+    /** 结算碰撞系统上一次回调记下的玩家与 AI 接触。 */
     public void checkCollisions() {
         if (gameOver) return;
-        
-        GameObject userPlayer = getUserPlayer();
-        if (userPlayer == null) return;
-        
-        TransformComponent playerTransform = userPlayer.getComponent(TransformComponent.class);
-        if (playerTransform == null) return;
-        
-        Vector2 playerPos = playerTransform.getPosition();
-        
-        List<GameObject> aiPlayers = getAIPlayers();
-        for (GameObject aiPlayer : aiPlayers) {
-            TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
-            if (aiTransform != null) {
-                float distance = playerPos.distance(aiTransform.getPosition());
-                if (distance < 30) {
-                    gameOver = true;
-                    return;
-                }
-            }
+        if (playerHit) {
+            gameOver = true;
         }
     }
 }
@@ -1,16 +1,34 @@
 package com.gameengine.core;
 
+import com.gameengine.scene.Scene;
+
 import java.util.*;
 
-public class GameObject {
+public class GameObject implements Poolable {
     protected boolean active;
     protected String name;
     protected final List<Component<?>> components;
+    // 按 ComponentType ID 索引的槽位（含父类型），以及对应的位集签名
+    private Component<?>[] slots;
+    private long[] signature;
+    private Scene scene;
+    private int id;
+    private long tags;
+    // 各标签在 Scene 标签桶里的下标，首次加入标签桶时分配
+    private int[] tagSlots;
+    // 池化对象：destroy 时保留组件，离开场景后由 Scene 归还到 pool
+    private ObjectPool<GameObject> pool;
+    private boolean destroyed;
+    // Scene 脏集合去重用：最近一次被记入脏集合的场景帧号
+    private long dirtyFrame = -1;
     
     public GameObject() {
         this.active = true;
+        this.id = EntityIdAllocator.NULL;
         this.name = "GameObject";
         this.components = new ArrayList<>();
+        this.slots = new Component<?>[Math.max(8, ComponentType.count())];
+        this.signature = new long[(slots.length >> 6) + 1];
     }
     
     public GameObject(String name) {
@@ -29,45 +47,94 @@ public class GameObject {
     public void initialize() {
     }
     
+    /**
+     * 立即失活；在场景中时，移出组件/标签索引和清空组件推迟到同步点（本帧 update 结束时），
+     * 所以遍历 getComponents / findByTag 时销毁对象是安全的。
+     */
     public void destroy() {
+        if (destroyed) return;
         this.active = false;
+        this.destroyed = true;
         for (Component<?> component : components) {
             component.destroy();
         }
+        if (scene == null) {
+            releaseComponents();
+        }
+    }
+    
+    /** 销毁后离开场景时调用：池化对象保留组件等待复用，其余清空。 */
+    public void releaseComponents() {
+        if (pool != null) return;
         components.clear();
+        Arrays.fill(slots, null);
+        Arrays.fill(signature, 0L);
+    }
+    
+    /** 归还对象池时调用：重新激活对象并重置所有组件，组件结构保持不变。 */
+    @Override
+    public void reset() {
+        this.active = true;
+        this.destroyed = false;
+        for (Component<?> component : components) {
+            component.reset();
+        }
     }
     
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        for (int id : ComponentType.hierarchyOf(component.getClass())) {
+            ensureCapacity(id);
+            if (slots[id] == null) {
+                slots[id] = component;
+                signature[id >> 6] |= 1L << id;
+            }
+        }
+        if (scene != null) {
+            scene.onComponentAdded(component);
+        }
         component.initialize();
         return component;
     }
     
     @SuppressWarnings("unchecked")
     public <T extends Component<T>> T getComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
-            }
-        }
-        return null;
+        int id = ComponentType.idOf(componentType);
+        return id < slots.length ? (T) slots[id] : null;
     }
     
     public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
+        int id = ComponentType.idOf(componentType);
+        return id < slots.length && slots[id] != null;
+    }
+    
+    /** mask 由 ComponentType.mask(...) 生成，判断是否同时拥有其中所有组件类型。 */
+    public boolean hasComponents(long[] mask) {
+        for (int i = 0; i < mask.length; i++) {
+            long bits = i < signature.length ? signature[i] : 0L;
+            if ((bits & mask[i]) != mask[i]) {
+                return false;
             }
         }
-        return false;
+        return true;
+    }
+    
+    private void ensureCapacity(int id) {
+        if (id >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(id + 1, slots.length * 2));
+        }
+        if ((id >> 6) >= signature.length) {
+            signature = Arrays.copyOf(signature, (slots.length >> 6) + 1);
+        }
     }
     
     public void updateComponents(float deltaTime) {
         // Use index-based loop to avoid ConcurrentModificationException if a component destroys the object
         for (int i = 0; i < components.size(); i++) {
             Component<?> component = components.get(i);
-            if (component.isEnabled()) {
+            // 在场景中时 ParallelUpdate 组件由 Scene 的并行阶段统一更新，LodUpdate 组件由 UpdateLod 调度
+            if (component.isEnabled() && !(scene != null && (component instanceof ParallelUpdate || component instanceof LodUpdate))) {
                 component.update(deltaTime);
             }
         }
@@ -81,6 +148,99 @@ public class GameObject {
         }
     }
     
+    public List<Component<?>> getComponentList() {
+        return Collections.unmodifiableList(components);
+    }
+    
+    public void addTag(String tag) {
+        int id = Tag.of(tag);
+        long bit = 1L << id;
+        if ((tags & bit) != 0) return;
+        tags |= bit;
+        if (scene != null && !destroyed) {
+            scene.onTagAdded(this, id);
+        }
+    }
+    
+    public void removeTag(String tag) {
+        int id = Tag.of(tag);
+        long bit = 1L << id;
+        if ((tags & bit) == 0) return;
+        tags &= ~bit;
+        // 销毁后到离开场景前仍在标签桶里
+        if (scene != null) {
+            scene.onTagRemoved(this, id);
+        }
+    }
+    
+    public boolean hasTag(String tag) {
+        return (tags & (1L << Tag.of(tag))) != 0;
+    }
+    
+    public boolean hasTag(int tagId) {
+        return (tags & (1L << tagId)) != 0;
+    }
+    
+    public long getTags() {
+        return tags;
+    }
+    
+    public int getTagSlot(int tagId) {
+        return tagSlots != null ? tagSlots[tagId] : -1;
+    }
+    
+    public void setTagSlot(int tagId, int slot) {
+        if (tagSlots == null) {
+            tagSlots = new int[Tag.MAX_TAGS];
+        }
+        tagSlots[tagId] = slot;
+    }
+    
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+    
+    /** 组件数据变化时由 Component.markChanged 调用。 */
+    public void markChanged() {
+        Scene s = scene;
+        if (s != null) {
+            s.markDirty(this);
+        }
+    }
+    
+    public long getDirtyFrame() {
+        return dirtyFrame;
+    }
+    
+    public void setDirtyFrame(long dirtyFrame) {
+        this.dirtyFrame = dirtyFrame;
+    }
+    
+    public ObjectPool<GameObject> getPool() {
+        return pool;
+    }
+    
+    public void setPool(ObjectPool<GameObject> pool) {
+        this.pool = pool;
+    }
+    
+    public Scene getScene() {
+        return scene;
+    }
+    
+    public void setScene(Scene scene) {
+        this.scene = scene;
+    }
+    
+    /** 由 Scene.addGameObject 分配的带代数实体 ID，未加入场景时为 EntityIdAllocator.NULL。 */
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
     public boolean isActive() {
         return active;
     }
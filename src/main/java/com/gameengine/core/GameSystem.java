@@ -0,0 +1,55 @@
+package com.gameengine.core;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 由 SystemScheduler 调度的系统。系统声明自己读/写哪些组件类型（或其它共享资源的类，
+ * 如 InputManager），调度器据此判断哪些系统可以同时运行。
+ */
+public interface GameSystem {
+    /** 读写一切：与所有系统冲突，总是单独在主线程执行（例如运行任意脚本逻辑的 Scene.update）。 */
+    Set<Class<?>> ALL = Collections.singleton(Object.class);
+
+    String getName();
+
+    Set<Class<?>> getReads();
+
+    Set<Class<?>> getWrites();
+
+    void update(float deltaTime);
+
+    /** 本帧是否参与调度，禁用的系统不进入依赖图。 */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    @FunctionalInterface
+    interface Step {
+        void update(float deltaTime);
+    }
+
+    static GameSystem of(String name, Set<Class<?>> reads, Set<Class<?>> writes, Step step) {
+        return new GameSystem() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Set<Class<?>> getReads() {
+                return reads;
+            }
+
+            @Override
+            public Set<Class<?>> getWrites() {
+                return writes;
+            }
+
+            @Override
+            public void update(float deltaTime) {
+                step.update(deltaTime);
+            }
+        };
+    }
+}
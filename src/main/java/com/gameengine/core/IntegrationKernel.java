@@ -0,0 +1,119 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.scene.Scene;
+
+import java.util.Arrays;
+
+/**
+ * ArchetypeStorage 列上的积分内核，语义与 PhysicsSystem 的逐对象路径一致（含休眠判定）。
+ * 循环体只有 float[] 上的算术和条件选择（禁用行保持原值），没有调用和提前跳出，
+ * 便于 JIT 自动向量化；变更通知和进入休眠放在单独的 notifyMoved 一遍里。
+ */
+final class IntegrationKernel {
+    private static final float SLEEP_VELOCITY_SQ = PhysicsComponent.SLEEP_VELOCITY * PhysicsComponent.SLEEP_VELOCITY;
+    private static final float SLEEP_ACCELERATION_SQ = PhysicsComponent.SLEEP_ACCELERATION * PhysicsComponent.SLEEP_ACCELERATION;
+    private static final float SLEEP_TICKS = PhysicsComponent.SLEEP_TICKS;
+
+    // 每个线程一个 chunk 大小的缓冲，收集本 chunk 移动过的对象后一次记入场景脏集合
+    private static final ThreadLocal<GameObject[]> movedScratch =
+        ThreadLocal.withInitial(() -> new GameObject[ArchetypeStorage.CHUNK_CAPACITY]);
+    // 每个线程一个 chunk 大小的缓冲，存放按步长换算后的摩擦
+    private static final ThreadLocal<float[]> frictionScratch =
+        ThreadLocal.withInitial(() -> new float[ArchetypeStorage.CHUNK_CAPACITY]);
+
+    private IntegrationKernel() {}
+
+    /**
+     * 积分 [from, to) 行；积分前的位置留在 PREV_X/PREV_Y 列。
+     * 与 PhysicsComponent.updateSleep 相同，按积分前的速度和加速度累计 QUIET，满 SLEEP_TICKS 的行本 tick 不积分。
+     * 摩擦先在单独一遍里换算成每步系数；相邻行系数相同时沿用上一行的结果，不重复求幂。
+     */
+    static void integrate(ArchetypeStorage.Chunk chunk, int from, int to, float dt, float maxX, float maxY) {
+        float[] px = chunk.column(ArchetypeStorage.POS_X);
+        float[] py = chunk.column(ArchetypeStorage.POS_Y);
+        float[] vx = chunk.column(ArchetypeStorage.VEL_X);
+        float[] vy = chunk.column(ArchetypeStorage.VEL_Y);
+        float[] ax = chunk.column(ArchetypeStorage.ACC_X);
+        float[] ay = chunk.column(ArchetypeStorage.ACC_Y);
+        float[] friction = chunk.column(ArchetypeStorage.FRICTION);
+        float[] gx = chunk.column(ArchetypeStorage.GRAV_X);
+        float[] gy = chunk.column(ArchetypeStorage.GRAV_Y);
+        float[] quiet = chunk.column(ArchetypeStorage.QUIET);
+        float[] sleepOk = chunk.column(ArchetypeStorage.SLEEP_OK);
+        boolean[] enabled = chunk.enabled();
+        System.arraycopy(px, from, chunk.column(ArchetypeStorage.PREV_X), from, to - from);
+        System.arraycopy(py, from, chunk.column(ArchetypeStorage.PREV_Y), from, to - from);
+        float[] stepFriction = frictionScratch.get();
+        float lastFriction = Float.NaN;
+        float lastStep = 0f;
+        for (int i = from; i < to; i++) {
+            if (friction[i] != lastFriction) {
+                lastFriction = friction[i];
+                lastStep = PhysicsComponent.stepFriction(lastFriction, dt);
+            }
+            stepFriction[i] = lastStep;
+        }
+
+        for (int i = from; i < to; i++) {
+            boolean still = sleepOk[i] != 0f
+                && vx[i] * vx[i] + vy[i] * vy[i] <= SLEEP_VELOCITY_SQ
+                && ax[i] * ax[i] + ay[i] * ay[i] <= SLEEP_ACCELERATION_SQ;
+            float q = still ? quiet[i] + 1f : 0f;
+            quiet[i] = enabled[i] ? q : quiet[i];
+            boolean on = enabled[i] && q < SLEEP_TICKS;
+            float f = stepFriction[i];
+            float velX = (vx[i] + (ax[i] + gx[i]) * dt) * f;
+            float velY = (vy[i] + (ay[i] + gy[i]) * dt) * f;
+            float posX = px[i] + velX * dt;
+            float posY = py[i] + velY * dt;
+            velX = (posX <= 0 || posX >= maxX) ? -velX : velX;
+            velY = (posY <= 0 || posY >= maxY) ? -velY : velY;
+            posX = Math.max(0f, Math.min(maxX, posX));
+            posY = Math.max(0f, Math.min(maxY, posY));
+
+            px[i] = on ? posX : px[i];
+            py[i] = on ? posY : py[i];
+            vx[i] = on ? velX : vx[i];
+            vy[i] = on ? velY : vy[i];
+            ax[i] = on ? 0f : ax[i];
+            ay[i] = on ? 0f : ay[i];
+        }
+    }
+
+    /**
+     * 位置与 PREV 列不同的行加 TransformComponent 版本号，所属对象攒成一批记入场景脏集合（每 chunk 一次加锁）；
+     * 本 tick 判定为静止满额的行让对应物体休眠。
+     */
+    static void notifyMoved(ArchetypeStorage storage, ArchetypeStorage.Chunk chunk, int from, int to, Scene scene) {
+        float[] px = chunk.column(ArchetypeStorage.POS_X);
+        float[] py = chunk.column(ArchetypeStorage.POS_Y);
+        float[] prevX = chunk.column(ArchetypeStorage.PREV_X);
+        float[] prevY = chunk.column(ArchetypeStorage.PREV_Y);
+        float[] quiet = chunk.column(ArchetypeStorage.QUIET);
+        boolean[] enabled = chunk.enabled();
+        int[] handles = chunk.handles();
+        GameObject[] moved = movedScratch.get();
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (px[i] != prevX[i] || py[i] != prevY[i]) {
+                Component<?> transform = storage.transformOf(handles[i]);
+                if (transform == null) continue;
+                transform.bumpVersion();
+                GameObject owner = transform.getOwner();
+                if (owner != null && owner.getScene() == scene) {
+                    moved[count++] = owner;
+                }
+            } else if (enabled[i] && quiet[i] >= SLEEP_TICKS) {
+                PhysicsComponent body = storage.bodyOf(handles[i]);
+                if (body != null) {
+                    body.sleep();
+                }
+            }
+        }
+        if (count > 0) {
+            scene.markDirty(moved, count);
+            Arrays.fill(moved, 0, count, null);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gameengine.core;
+
+/**
+ * 标记接口：组件的 update 可以降频执行。
+ * 在场景中时由 Scene 的 UpdateLod 按与焦点的距离决定每帧是否执行，deltaTime 是距上次执行累计的时间。
+ * 同时实现 ParallelUpdate 的组件在被选中的帧里仍放在并行阶段执行。
+ */
+public interface LodUpdate {
+}
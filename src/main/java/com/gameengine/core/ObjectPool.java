@@ -0,0 +1,69 @@
+package com.gameengine.core;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * 简单的类型化对象池：acquire 优先复用空闲对象，否则调用工厂新建；
+ * release 时调用 reset() 并放回池中（超过 maxSize 直接丢弃交给 GC）。
+ * 只在主线程使用，不做同步。
+ */
+public class ObjectPool<T extends Poolable> {
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> free;
+    private final int maxSize;
+    private long hits;
+    private long misses;
+    private long dropped;
+
+    public ObjectPool(Supplier<T> factory, int maxSize) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.free = new ArrayDeque<>(Math.min(maxSize, 64));
+    }
+
+    public T acquire() {
+        T obj = free.pollLast();
+        if (obj != null) {
+            hits++;
+            return obj;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    public void release(T obj) {
+        obj.reset();
+        if (free.size() < maxSize) {
+            free.addLast(obj);
+        } else {
+            dropped++;
+        }
+    }
+
+    public void prewarm(int count) {
+        while (free.size() < Math.min(count, maxSize)) {
+            free.addLast(factory.get());
+        }
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void clear() {
+        free.clear();
+    }
+}
@@ -0,0 +1,9 @@
+package com.gameengine.core;
+
+/**
+ * 标记接口：组件的 update 只写自己所属实体（可以读其它实体）。
+ * Scene 会把这类组件放到串行更新之后的并行阶段分块执行；
+ * 需要修改其它实体或场景（扣血、加分、生成、销毁）时用 Scene.defer 延后到并行阶段结束再执行。
+ */
+public interface ParallelUpdate {
+}
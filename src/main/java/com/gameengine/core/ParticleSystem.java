@@ -4,11 +4,12 @@ import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Iterator;
 import java.util.Random;
 
 public class ParticleSystem {
     private List<Particle> particles;
+    // 死亡粒子回收复用，避免持续发射时频繁分配
+    private final ObjectPool<Particle> particlePool;
     private Random random;
     private IRenderer renderer;
     private float spawnRate;
@@ -18,7 +19,7 @@ public class ParticleSystem {
     
     private Config config;
     
-    private static class Particle {
+    private static class Particle implements Poolable {
         private Vector2 position;
         private Vector2 velocity;
         private float life;
@@ -26,9 +27,14 @@ public class ParticleSystem {
         private float size;
         private float r, g, b, a;
         
-        public Particle(Vector2 position, Vector2 velocity, float life, float size, float r, float g, float b) {
-            this.position = new Vector2(position);
-            this.velocity = new Vector2(velocity);
+        public Particle() {
+            this.position = new Vector2();
+            this.velocity = new Vector2();
+        }
+        
+        public void init(Vector2 position, float velX, float velY, float life, float size, float r, float g, float b) {
+            this.position.set(position);
+            this.velocity.set(velX, velY);
             this.maxLife = life;
             this.life = life;
             this.size = size;
@@ -39,12 +45,12 @@ public class ParticleSystem {
         }
         
         public void update(float deltaTime) {
-            position = position.add(velocity.multiply(deltaTime));
+            position.addLocal(velocity.x * deltaTime, velocity.y * deltaTime);
             life -= deltaTime;
             
             if (life > 0) {
                 a = life / maxLife;
-                velocity = velocity.multiply(0.98f);
+                velocity.scaleLocal(0.98f);
             }
         }
         
@@ -52,8 +58,17 @@ public class ParticleSystem {
             return life > 0;
         }
         
-        public Vector2 getPosition() {
-            return new Vector2(position);
+        @Override
+        public void reset() {
+            life = 0;
+        }
+        
+        public float getX() {
+            return position.x;
+        }
+        
+        public float getY() {
+            return position.y;
         }
         
         public float getSize() {
@@ -146,6 +161,7 @@ public class ParticleSystem {
     
     public ParticleSystem(IRenderer renderer, Vector2 position, Config config) {
         this.particles = new ArrayList<>();
+        this.particlePool = new ObjectPool<>(Particle::new, 512);
         this.random = new Random();
         this.renderer = renderer;
         this.position = new Vector2(position);
@@ -165,10 +181,14 @@ public class ParticleSystem {
     
     public void setPosition(Vector2 position) {
         if (position != null) {
-            this.position = new Vector2(position);
+            this.position.set(position);
         }
     }
     
+    public void setPosition(float x, float y) {
+        this.position.set(x, y);
+    }
+    
     public void update(float deltaTime) {
         if (active) {
             timeSinceLastSpawn += deltaTime;
@@ -178,14 +198,21 @@ public class ParticleSystem {
             }
         }
         
-        Iterator<Particle> iterator = particles.iterator();
-        while (iterator.hasNext()) {
-            Particle particle = iterator.next();
+        // 原地压缩：存活粒子前移保持顺序，死亡粒子回池
+        int write = 0;
+        int size = particles.size();
+        for (int read = 0; read < size; read++) {
+            Particle particle = particles.get(read);
             particle.update(deltaTime);
-            if (!particle.isAlive()) {
-                iterator.remove();
+            if (particle.isAlive()) {
+                particles.set(write++, particle);
+            } else {
+                particlePool.release(particle);
             }
         }
+        for (int i = size - 1; i >= write; i--) {
+            particles.remove(i);
+        }
     }
     
     private void spawnParticle() {
@@ -193,10 +220,8 @@ public class ParticleSystem {
         
         float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
         float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
-        Vector2 velocity = new Vector2(
-            (float) (Math.cos(angle) * speed),
-            (float) (Math.sin(angle) * speed)
-        );
+        float velX = (float) (Math.cos(angle) * speed);
+        float velY = (float) (Math.sin(angle) * speed);
         
         float life = config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin);
         float size = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
@@ -212,7 +237,8 @@ public class ParticleSystem {
             g = config.g + random.nextFloat() * 0.2f;
         }
         
-        Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
+        Particle particle = particlePool.acquire();
+        particle.init(position, velX, velY, life, size, r, g, b);
         particles.add(particle);
     }
     
@@ -223,8 +249,10 @@ public class ParticleSystem {
     public void render() {
         if (renderer == null) return;
         
-        for (Particle particle : particles) {
-            Vector2 pos = particle.getPosition();
+        for (int i = 0; i < particles.size(); i++) {
+            Particle particle = particles.get(i);
+            float x = particle.getX();
+            float y = particle.getY();
             float size = particle.getSize();
             
             float r = Math.min(1.0f, Math.max(0.0f, particle.getR()));
@@ -234,11 +262,11 @@ public class ParticleSystem {
             
             float maxW = renderer != null ? renderer.getWidth() : 1920;
             float maxH = renderer != null ? renderer.getHeight() : 1080;
-            if (a > 0.01f && pos.x >= -50 && pos.x <= maxW + 50 && pos.y >= -50 && pos.y <= maxH + 50) {
+            if (a > 0.01f && x >= -50 && x <= maxW + 50 && y >= -50 && y <= maxH + 50) {
                 float renderSize = Math.max(config.minRenderSize, size * a);
                 try {
                     renderer.drawRect(
-                        pos.x - renderSize * 0.5f, pos.y - renderSize * 0.5f, 
+                        x - renderSize * 0.5f, y - renderSize * 0.5f, 
                         renderSize, renderSize,
                         r, g, b, a
                     );
@@ -252,10 +280,8 @@ public class ParticleSystem {
         for (int i = 0; i < count; i++) {
             float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
             float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
-            Vector2 velocity = new Vector2(
-                (float) (Math.cos(angle) * speed),
-                (float) (Math.sin(angle) * speed)
-            );
+            float velX = (float) (Math.cos(angle) * speed);
+            float velY = (float) (Math.sin(angle) * speed);
             
             float life = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
             float size = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
@@ -264,7 +290,8 @@ public class ParticleSystem {
             float g = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
             float b = config.burstB;
             
-            Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
+            Particle particle = particlePool.acquire();
+            particle.init(position, velX, velY, life, size, r, g, b);
             particles.add(particle);
         }
     }
@@ -273,7 +300,14 @@ public class ParticleSystem {
         return particles.size();
     }
     
+    public ObjectPool<?> getParticlePool() {
+        return particlePool;
+    }
+    
     public void clear() {
+        for (Particle particle : particles) {
+            particlePool.release(particle);
+        }
         particles.clear();
     }
 }
@@ -2,68 +2,240 @@ package com.gameengine.core;
 
 import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
-import java.util.List;
 import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PhysicsSystem {
+    // 叶子任务的目标耗时，远大于一次 fork/join 的调度开销
+    private static final long TARGET_LEAF_NANOS = 50_000;
+    private static final int MIN_SERIAL_THRESHOLD = 64;
+    private static final int MAX_SERIAL_THRESHOLD = 1 << 16;
+    
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    private final ForkJoinPool pool;
     private int screenWidth;
     private int screenHeight;
+    // 自适应阈值：按实测的每物体耗时折算，物体数不超过它就在调用线程串行完成
+    private int serialThreshold = 1024;
+    private double nanosPerBody = -1;
+    private final AtomicLong leafNanos = new AtomicLong();
+    private final AtomicLong leafBodies = new AtomicLong();
+    // 活跃集合：只有醒着且未绑定列存储的物体在里面，休眠的在休眠判定时就地移出；绑定的物体由内核按列积分和判定休眠
+    private final List<PhysicsComponent> activeBodies = new ArrayList<>();
+    private final Set<PhysicsComponent> activeMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean populated;
     
     public PhysicsSystem(Scene scene) {
         this(scene, 1920, 1080);
     }
     
     public PhysicsSystem(Scene scene, int screenWidth, int screenHeight) {
+        this(scene, screenWidth, screenHeight, Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+    }
+    
+    /** 每个物体独立积分，结果与 threadCount 无关。 */
+    public PhysicsSystem(Scene scene, int screenWidth, int screenHeight, int threadCount) {
         this.scene = scene;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.pool = new ForkJoinPool(threadCount);
     }
     
     public void update(float deltaTime) {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
-        if (physicsComponents.isEmpty()) return;
-        
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
-                    }
-                }
-            });
-            
-            futures.add(future);
+        refreshActiveSet();
+        updateSleepStates();
+        
+        // 休眠物体在列存储中是禁用行，内核保持原值
+        ArchetypeStorage storage = scene.getArchetypeStorage();
+        if (storage != null) {
+            updateArchetypes(storage, deltaTime);
         }
         
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        int count = activeBodies.size();
+        if (count == 0) return;
+        
+        if (count <= serialThreshold) {
+            long start = System.nanoTime();
+            integrateRange(activeBodies, 0, count, deltaTime);
+            sample(System.nanoTime() - start, count);
+        } else {
+            leafNanos.set(0);
+            leafBodies.set(0);
+            pool.invoke(new BodyRangeTask(activeBodies, 0, count, deltaTime));
+            sample(leafNanos.get(), leafBodies.get());
+        }
+    }
+    
+    // 首次全量收集；之后新加入的对象来自本帧脏集合，唤醒和重新启用来自场景的唤醒队列
+    private void refreshActiveSet() {
+        if (!populated) {
+            populated = true;
+            List<PhysicsComponent> all = scene.getComponents(PhysicsComponent.class);
+            for (int i = 0; i < all.size(); i++) {
+                activate(all.get(i));
             }
         }
+        List<GameObject> dirty = scene.getDirtyObjects();
+        for (int i = 0; i < dirty.size(); i++) {
+            PhysicsComponent physics = dirty.get(i).getComponent(PhysicsComponent.class);
+            if (physics != null) {
+                activate(physics);
+            }
+        }
+        PhysicsComponent woken;
+        while ((woken = scene.pollWokenBody()) != null) {
+            activate(woken);
+        }
+    }
+    
+    private void activate(PhysicsComponent physics) {
+        if (isSimulated(physics) && !physics.isBound() && !physics.isSleeping() && activeMembers.add(physics)) {
+            activeBodies.add(physics);
+        }
+    }
+    
+    private boolean isSimulated(PhysicsComponent physics) {
+        GameObject owner = physics.getOwner();
+        return physics.isEnabled() && owner != null && owner.isActive() && owner.getScene() == scene;
+    }
+    
+    // 休眠、离开场景或已绑定列存储的物体与末尾交换后移除，集合保持紧凑
+    private void updateSleepStates() {
+        for (int i = activeBodies.size() - 1; i >= 0; i--) {
+            PhysicsComponent physics = activeBodies.get(i);
+            if (isSimulated(physics) && !physics.isBound() && !physics.updateSleep()) continue;
+            int last = activeBodies.size() - 1;
+            activeBodies.set(i, activeBodies.get(last));
+            activeBodies.remove(last);
+            activeMembers.remove(physics);
+        }
+    }
+    
+    public int getActiveBodyCount() {
+        return activeBodies.size();
+    }
+    
+    /** 遍历场景统计，供调试面板等按需调用。 */
+    public int getSleepingBodyCount() {
+        List<PhysicsComponent> all = scene.getComponents(PhysicsComponent.class);
+        int sleeping = 0;
+        for (int i = 0; i < all.size(); i++) {
+            if (all.get(i).isSleeping()) sleeping++;
+        }
+        return sleeping;
+    }
+    
+    /** 逐对象路径的积分和边界处理，不维护活跃集合和休眠；update 内部和基准都走这里。 */
+    public void integrateRange(List<PhysicsComponent> physicsComponents, int start, int end, float deltaTime) {
+        for (int j = start; j < end; j++) {
+            PhysicsComponent physics = physicsComponents.get(j);
+            if (physics.isEnabled() && !physics.isBound()) {
+                updatePhysics(physics, deltaTime);
+                handleBoundary(physics);
+            }
+        }
+    }
+    
+    private void sample(long nanos, long bodies) {
+        if (bodies <= 0) return;
+        double perBody = (double) nanos / bodies;
+        nanosPerBody = nanosPerBody < 0 ? perBody : nanosPerBody * 0.9 + perBody * 0.1;
+        long threshold = (long) (TARGET_LEAF_NANOS / Math.max(nanosPerBody, 1.0));
+        serialThreshold = (int) Math.max(MIN_SERIAL_THRESHOLD, Math.min(MAX_SERIAL_THRESHOLD, threshold));
+    }
+    
+    public int getSerialThreshold() {
+        return serialThreshold;
+    }
+    
+    public double getNanosPerBody() {
+        return nanosPerBody;
+    }
+    
+    // 二分到不超过 serialThreshold 后串行执行，叶子耗时累加用于调整阈值
+    private final class BodyRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<PhysicsComponent> components;
+        private final int start;
+        private final int end;
+        private final float deltaTime;
+        
+        BodyRangeTask(List<PhysicsComponent> components, int start, int end, float deltaTime) {
+            this.components = components;
+            this.start = start;
+            this.end = end;
+            this.deltaTime = deltaTime;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - start <= serialThreshold) {
+                long t0 = System.nanoTime();
+                integrateRange(components, start, end, deltaTime);
+                leafNanos.addAndGet(System.nanoTime() - t0);
+                leafBodies.addAndGet(end - start);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new BodyRangeTask(components, start, mid, deltaTime),
+                      new BodyRangeTask(components, mid, end, deltaTime));
+        }
+    }
+    
+    // 多个 chunk 时按 chunk 并行，每个 chunk 一个叶子
+    private final class ChunkRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ArchetypeStorage storage;
+        private final int signature;
+        private final int from;
+        private final int to;
+        private final float deltaTime;
+        
+        ChunkRangeTask(ArchetypeStorage storage, int signature, int from, int to, float deltaTime) {
+            this.storage = storage;
+            this.signature = signature;
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                integrateChunk(storage, storage.chunkAt(signature, from), deltaTime);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkRangeTask(storage, signature, from, mid, deltaTime),
+                      new ChunkRangeTask(storage, signature, mid, to, deltaTime));
+        }
+    }
+    
+    // 列式路径：按 chunk 调用 IntegrationKernel，与 updatePhysics + handleBoundary 语义一致
+    private void updateArchetypes(ArchetypeStorage storage, float deltaTime) {
+        for (int signature = 0; signature < ArchetypeStorage.signatureCount(); signature++) {
+            if (!ArchetypeStorage.matches(signature, ArchetypeStorage.TRANSFORM | ArchetypeStorage.PHYSICS)) continue;
+            int chunkCount = storage.chunkCount(signature);
+            if (chunkCount > 1) {
+                pool.invoke(new ChunkRangeTask(storage, signature, 0, chunkCount, deltaTime));
+            } else if (chunkCount == 1) {
+                integrateChunk(storage, storage.chunkAt(signature, 0), deltaTime);
+            }
+        }
+    }
+    
+    private void integrateChunk(ArchetypeStorage storage, ArchetypeStorage.Chunk chunk, float deltaTime) {
+        IntegrationKernel.integrate(chunk, 0, chunk.size(), deltaTime, screenWidth - 15, screenHeight - 15);
+        IntegrationKernel.notifyMoved(storage, chunk, 0, chunk.size(), scene);
     }
     
     private void updatePhysics(PhysicsComponent physics, float deltaTime) {
@@ -73,22 +245,20 @@ public class PhysicsSystem {
         TransformComponent transform = owner.getComponent(TransformComponent.class);
         if (transform == null) return;
         
-        Vector2 acceleration = physics.getAcceleration();
-        
+        // 全部用标量计算，稳态下不分配
+        float accX = physics.getAccelerationX();
+        float accY = physics.getAccelerationY();
         if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
+            accX += physics.getGravityX();
+            accY += physics.getGravityY();
         }
         
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
-        
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
-        
-        physics.setAcceleration(new Vector2());
+        float friction = physics.getStepFriction(deltaTime);
+        float velX = (physics.getVelocityX() + accX * deltaTime) * friction;
+        float velY = (physics.getVelocityY() + accY * deltaTime) * friction;
+        physics.setVelocity(velX, velY);
+        transform.translate(velX * deltaTime, velY * deltaTime);
+        physics.setAcceleration(0, 0);
     }
     
     private void handleBoundary(PhysicsComponent physics) {
@@ -98,14 +268,11 @@ public class PhysicsSystem {
         TransformComponent transform = owner.getComponent(TransformComponent.class);
         if (transform == null) return;
         
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
-        
         boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
+        float velX = physics.getVelocityX();
+        float velY = physics.getVelocityY();
+        float posX = transform.getX();
+        float posY = transform.getY();
         
         if (posX <= 0 || posX >= screenWidth - 15) {
             velX = -velX;
@@ -121,22 +288,22 @@ public class PhysicsSystem {
         if (posX > screenWidth - 15) posX = screenWidth - 15;
         if (posY > screenHeight - 15) posY = screenHeight - 15;
         
-        transform.setPosition(new Vector2(posX, posY));
+        transform.setPosition(posX, posY);
         
         if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+            physics.setVelocity(velX, velY);
         }
     }
     
     public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
+        if (!pool.isShutdown()) {
+            pool.shutdown();
             try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
+                if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                    pool.shutdownNow();
                 }
             } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
+                pool.shutdownNow();
                 Thread.currentThread().interrupt();
             }
         }
@@ -0,0 +1,8 @@
+package com.gameengine.core;
+
+/**
+ * 可被 ObjectPool 回收复用的对象。reset() 在归还池中时调用，应把状态恢复到刚创建时的样子。
+ */
+public interface Poolable {
+    void reset();
+}
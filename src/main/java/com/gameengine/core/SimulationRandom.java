@@ -0,0 +1,35 @@
+package com.gameengine.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * 模拟用随机数的根种子。每个实体、每个命名用途各取一条独立的 SplittableRandom 流，
+ * 流只由根种子和实体 ID（或名字）决定，与创建顺序、遍历顺序和线程数无关。
+ */
+public final class SimulationRandom {
+    private final long seed;
+
+    public SimulationRandom(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SplittableRandom forEntity(int entityId) {
+        return new SplittableRandom(mix64(seed ^ mix64(entityId + 0x9E3779B97F4A7C15L)));
+    }
+
+    /** 场景级用途（如刷怪位置）的随机流，按名字区分。 */
+    public SplittableRandom forStream(String name) {
+        return new SplittableRandom(mix64(seed ^ mix64(name.hashCode() * 0xC2B2AE3D27D4EB4FL)));
+    }
+
+    // SplitMix64 的终结混合，把相近的输入打散
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,40 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.Scene;
+
+import java.util.List;
+
+/**
+ * 场景模拟状态的 64 位哈希：按场景对象顺序混入实体 ID、位置和速度的原始位。
+ * 两次运行逐 tick 比较哈希即可定位第一次出现分歧的 tick。
+ */
+public final class StateHash {
+    private StateHash() {}
+
+    public static long of(Scene scene) {
+        long hash = SimulationRandom.mix64(scene.getFrame());
+        List<GameObject> objects = scene.getGameObjectsView();
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject obj = objects.get(i);
+            if (!obj.isActive()) continue;
+            hash = combine(hash, obj.getId());
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            if (transform != null) {
+                hash = combine(hash, Float.floatToRawIntBits(transform.getX()));
+                hash = combine(hash, Float.floatToRawIntBits(transform.getY()));
+            }
+            PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+            if (physics != null) {
+                hash = combine(hash, Float.floatToRawIntBits(physics.getVelocityX()));
+                hash = combine(hash, Float.floatToRawIntBits(physics.getVelocityY()));
+            }
+        }
+        return hash;
+    }
+
+    private static long combine(long hash, int value) {
+        return SimulationRandom.mix64(hash * 31 + value);
+    }
+}
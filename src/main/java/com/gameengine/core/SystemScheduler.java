@@ -0,0 +1,158 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 系统调度器：每帧按注册顺序和读写声明建依赖图（后注册的系统若与先注册的冲突则排在其后），
+ * 分层执行。同层系统互不冲突，第一个在调用线程执行，其余提交到 work-stealing 线程池。
+ */
+public class SystemScheduler {
+    private final List<GameSystem> systems;
+    private final ForkJoinPool pool;
+    private long[] lastNanos;
+    private int[] levels;
+
+    public SystemScheduler() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public SystemScheduler(int parallelism) {
+        this.systems = new ArrayList<>();
+        this.pool = new ForkJoinPool(parallelism);
+        this.lastNanos = new long[0];
+        this.levels = new int[0];
+    }
+
+    public void addSystem(GameSystem system) {
+        systems.add(system);
+        lastNanos = Arrays.copyOf(lastNanos, systems.size());
+        levels = new int[systems.size()];
+    }
+
+    public void removeSystem(GameSystem system) {
+        int index = systems.indexOf(system);
+        if (index < 0) return;
+        systems.remove(index);
+        long[] nanos = new long[systems.size()];
+        System.arraycopy(lastNanos, 0, nanos, 0, index);
+        System.arraycopy(lastNanos, index + 1, nanos, index, nanos.length - index);
+        lastNanos = nanos;
+        levels = new int[systems.size()];
+    }
+
+    public List<GameSystem> getSystems() {
+        return Collections.unmodifiableList(systems);
+    }
+
+    public void update(float deltaTime) {
+        int maxLevel = buildLevels();
+        for (int level = 0; level <= maxLevel; level++) {
+            runLevel(level, deltaTime);
+        }
+    }
+
+    // levels[i] = 1 + 与它冲突的先注册系统的最大层；禁用系统为 -1
+    private int buildLevels() {
+        int maxLevel = -1;
+        for (int i = 0; i < systems.size(); i++) {
+            GameSystem system = systems.get(i);
+            if (!system.isEnabled()) {
+                levels[i] = -1;
+                lastNanos[i] = 0;
+                continue;
+            }
+            int level = 0;
+            for (int j = 0; j < i; j++) {
+                if (levels[j] >= level && conflicts(systems.get(j), system)) {
+                    level = levels[j] + 1;
+                }
+            }
+            levels[i] = level;
+            maxLevel = Math.max(maxLevel, level);
+        }
+        return maxLevel;
+    }
+
+    private void runLevel(int level, float deltaTime) {
+        int first = -1;
+        List<ForkJoinTask<?>> forked = null;
+        for (int i = 0; i < systems.size(); i++) {
+            if (levels[i] != level) continue;
+            if (first < 0) {
+                first = i;
+                continue;
+            }
+            final int index = i;
+            if (forked == null) forked = new ArrayList<>();
+            forked.add(pool.submit(() -> runTimed(index, deltaTime)));
+        }
+        if (first >= 0) {
+            runTimed(first, deltaTime);
+        }
+        if (forked != null) {
+            for (ForkJoinTask<?> task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    private void runTimed(int index, float deltaTime) {
+        long start = System.nanoTime();
+        systems.get(index).update(deltaTime);
+        lastNanos[index] = System.nanoTime() - start;
+    }
+
+    static boolean conflicts(GameSystem a, GameSystem b) {
+        Set<Class<?>> aReads = a.getReads();
+        Set<Class<?>> aWrites = a.getWrites();
+        Set<Class<?>> bReads = b.getReads();
+        Set<Class<?>> bWrites = b.getWrites();
+        if (aReads == GameSystem.ALL || aWrites == GameSystem.ALL
+                || bReads == GameSystem.ALL || bWrites == GameSystem.ALL) {
+            return true;
+        }
+        return intersects(aWrites, bReads) || intersects(aWrites, bWrites) || intersects(bWrites, aReads);
+    }
+
+    private static boolean intersects(Set<Class<?>> a, Set<Class<?>> b) {
+        for (Class<?> type : a) {
+            if (b.contains(type)) return true;
+        }
+        return false;
+    }
+
+    /** 上一帧各系统耗时（纳秒），未运行的系统为 0。 */
+    public long getLastTimeNanos(GameSystem system) {
+        int index = systems.indexOf(system);
+        return index >= 0 ? lastNanos[index] : 0;
+    }
+
+    public Map<String, Long> getLastTimingsNanos() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        for (int i = 0; i < systems.size(); i++) {
+            timings.put(systems.get(i).getName(), lastNanos[i]);
+        }
+        return timings;
+    }
+
+    public void cleanup() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
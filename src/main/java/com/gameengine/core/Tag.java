@@ -0,0 +1,39 @@
+package com.gameengine.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 标签注册表：把标签名驻留为 0..63 的 ID，GameObject 用一个 long 位掩码记录自己的标签，
+ * Scene 按 ID 维护每个标签的实体列表。
+ */
+public final class Tag {
+    public static final int MAX_TAGS = 64;
+
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private Tag() {}
+
+    public static int of(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        synchronized (ids) {
+            id = ids.get(name);
+            if (id == null) {
+                if (ids.size() >= MAX_TAGS) {
+                    throw new IllegalStateException("标签数量超出上限: " + MAX_TAGS);
+                }
+                id = ids.size();
+                ids.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    public static long mask(String... names) {
+        long mask = 0L;
+        for (String name : names) {
+            mask |= 1L << of(name);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gameengine.example;
+
+import com.gameengine.components.AISteeringComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.ParticleSystem;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/**
+ * 无窗口的分配检查：预热后逐帧用 ThreadMXBean.getThreadAllocatedBytes 统计物理积分、AI 避让和粒子更新
+ * 在调用线程上的分配字节数，任一路径每帧分配不为 0 即失败。
+ * 物体数都取在串行阈值以内，整帧工作都在调用线程完成，统计才完整。
+ * JIT 重新编译的过渡期 JVM 偶尔会记入几十字节，所以分几轮测量、取分配最少的一轮：
+ * 每帧或周期短于一轮的分配在每一轮都会出现。
+ * 用法：AllocationCheck [warmupFrames] [framesPerRound] [rounds]
+ */
+public class AllocationCheck {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final float DT = 1.0f / 60.0f;
+    private static final int BODIES = 256;
+    private static final int AGENTS = 1000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        Scene physicsScene = populate("AllocationCheck.physics", BODIES, false);
+        PhysicsSystem physics = new PhysicsSystem(physicsScene, WIDTH, HEIGHT, 1);
+
+        Scene avoidanceScene = populate("AllocationCheck.avoidance", AGENTS, true);
+        GameLogic logic = new GameLogic(avoidanceScene);
+
+        ParticleSystem particles = new ParticleSystem(null, new Vector2(WIDTH / 2f, HEIGHT / 2f));
+
+        long threadId = Thread.currentThread().getId();
+        long[] physicsBytes = new long[rounds];
+        long[] avoidanceBytes = new long[rounds];
+        long[] particleBytes = new long[rounds];
+        try {
+            for (int frame = 0; frame < warmup + frames * rounds; frame++) {
+                int round = (frame - warmup) / frames;
+                // 场景自身的帧推进不在检查范围内
+                physicsScene.update(DT);
+                avoidanceScene.update(DT);
+
+                long before = THREADS.getThreadAllocatedBytes(threadId);
+                physics.update(DT);
+                long afterPhysics = THREADS.getThreadAllocatedBytes(threadId);
+                logic.handleAIPlayerAvoidance(DT);
+                long afterAvoidance = THREADS.getThreadAllocatedBytes(threadId);
+                particles.update(DT);
+                long afterParticles = THREADS.getThreadAllocatedBytes(threadId);
+                if (frame >= warmup) {
+                    physicsBytes[round] += afterPhysics - before;
+                    avoidanceBytes[round] += afterAvoidance - afterPhysics;
+                    particleBytes[round] += afterParticles - afterAvoidance;
+                }
+            }
+        } finally {
+            physics.cleanup();
+        }
+
+        boolean ok = report("PhysicsSystem.update", physicsBytes, frames)
+            & report("AvoidanceSolver (GameLogic.handleAIPlayerAvoidance)", avoidanceBytes, frames)
+            & report("ParticleSystem.update", particleBytes, frames);
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean report(String path, long[] bytesPerRound, int frames) {
+        long best = Long.MAX_VALUE;
+        long worst = 0;
+        for (long bytes : bytesPerRound) {
+            best = Math.min(best, bytes);
+            worst = Math.max(worst, bytes);
+        }
+        System.out.printf("%-52s %10.1f bytes/frame (worst round %.1f)%n",
+            path, (double) best / frames, (double) worst / frames);
+        return best == 0;
+    }
+
+    // 物体在场内来回弹，不摩擦也不休眠；AI 挤在一起，保证每帧都有避让对
+    private static Scene populate(String name, int count, boolean agents) {
+        Scene scene = new Scene(name);
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject(agents ? GameLogic.AI_PLAYER_TAG : "Body");
+            float x = agents ? 400 + random.nextInt(400) : 20 + random.nextInt(WIDTH - 40);
+            float y = agents ? 300 + random.nextInt(300) : 20 + random.nextInt(HEIGHT - 40);
+            obj.addComponent(new TransformComponent(new Vector2(x, y)));
+            PhysicsComponent body = obj.addComponent(new PhysicsComponent(1f));
+            body.setFriction(1f);
+            body.setVelocity(random.nextInt(400) - 200, random.nextInt(400) - 200);
+            if (agents) {
+                obj.addComponent(new AISteeringComponent());
+                obj.addTag(GameLogic.AI_PLAYER_TAG);
+            }
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        return scene;
+    }
+}
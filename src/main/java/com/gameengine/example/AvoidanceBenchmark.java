@@ -0,0 +1,139 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.Tag;
+import com.gameengine.math.Vector2;
+import com.gameengine.physics.SpatialHash;
+import com.gameengine.physics.SpatialIndex;
+import com.gameengine.scene.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * AI 避让基准：30、1k、10k、50k 个 AI，密度与 GameScene（800x600 里 30 个）相同，
+ * 比较 GameLogic.handleAIPlayerAvoidance（邻居网格 + 对称受力）与改动前逐个 AI 查空间索引、单侧累加的做法。
+ * 只计避让本身，位置不动；并行池的线程数可指定，默认取可用处理器数。
+ * 用法：AvoidanceBenchmark [threads] [agents...]
+ */
+public class AvoidanceBenchmark {
+    private static final float DT = 1.0f / 60.0f;
+    private static final float AVOIDANCE_RADIUS = 80f;
+    private static final long BATCH_NANOS = 300_000_000L;
+
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int[] sizes = {30, 1_000, 10_000, 50_000};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("threads=%d, available processors=%d%n", threads, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // 第一遍只预热，两条路径都编译稳定后再计时
+            for (int pass = 0; pass < 2; pass++) {
+                if (pass == 1) {
+                    System.out.printf("%8s %15s %15s %9s%n", "agents", "query ms/tick", "grid ms/tick", "speedup");
+                }
+                for (int size : sizes) {
+                    Scene scene = populate(size, pool);
+                    GameLogic logic = new GameLogic(scene);
+                    QueryAvoidance query = new QueryAvoidance(scene);
+                    double queryNanos = BenchmarkTimer.nanosPerRun(() -> query.handleAIPlayerAvoidance(DT), BATCH_NANOS);
+                    double gridNanos = BenchmarkTimer.nanosPerRun(() -> logic.handleAIPlayerAvoidance(DT), BATCH_NANOS);
+                    if (pass == 1) {
+                        System.out.printf("%8d %15.3f %15.3f %8.2fx%n",
+                            size, queryNanos / 1e6, gridNanos / 1e6, queryNanos / gridNanos);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Scene populate(int count, ForkJoinPool pool) {
+        Scene scene = new Scene("AvoidanceBenchmark");
+        scene.setParallelPool(pool);
+        scene.setSpatialIndex(new SpatialHash());
+        float scale = (float) Math.sqrt(count / 30.0);
+        float width = 800 * scale;
+        float height = 600 * scale;
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject(GameLogic.AI_PLAYER_TAG);
+            obj.addComponent(new TransformComponent(new Vector2(random.nextFloat() * width, random.nextFloat() * height)));
+            PhysicsComponent physics = obj.addComponent(new PhysicsComponent(0.5f));
+            physics.setVelocity((random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150);
+            obj.addTag(GameLogic.AI_PLAYER_TAG);
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        // 应用待加入的对象并建好空间索引
+        scene.update(DT);
+        return scene;
+    }
+
+    // 改动前 GameLogic 的避让：每个 AI 查一次空间索引，只给自己累加推力
+    private static final class QueryAvoidance {
+        private static final long AI_PLAYER_MASK = Tag.mask(GameLogic.AI_PLAYER_TAG);
+        private final Scene scene;
+        private final List<GameObject> neighbors = new ArrayList<>();
+
+        QueryAvoidance(Scene scene) {
+            this.scene = scene;
+        }
+
+        void handleAIPlayerAvoidance(float deltaTime) {
+            List<GameObject> aiPlayers = scene.findByTag(GameLogic.AI_PLAYER_TAG);
+            SpatialIndex index = scene.getSpatialIndex();
+            for (int i = 0; i < aiPlayers.size(); i++) {
+                GameObject aiPlayer1 = aiPlayers.get(i);
+                TransformComponent transform1 = aiPlayer1.getComponent(TransformComponent.class);
+                PhysicsComponent physics1 = aiPlayer1.getComponent(PhysicsComponent.class);
+                if (transform1 == null || physics1 == null) continue;
+
+                float x1 = transform1.getX();
+                float y1 = transform1.getY();
+                float avoidX = 0;
+                float avoidY = 0;
+                index.queryRadius(x1, y1, AVOIDANCE_RADIUS, AI_PLAYER_MASK, neighbors);
+                for (int j = 0; j < neighbors.size(); j++) {
+                    GameObject aiPlayer2 = neighbors.get(j);
+                    if (aiPlayer2 == aiPlayer1) continue;
+                    TransformComponent transform2 = aiPlayer2.getComponent(TransformComponent.class);
+                    if (transform2 == null) continue;
+                    float dx = x1 - transform2.getX();
+                    float dy = y1 - transform2.getY();
+                    float distance = (float) Math.sqrt(dx * dx + dy * dy);
+                    if (distance < AVOIDANCE_RADIUS && distance > 0) {
+                        float strength = (AVOIDANCE_RADIUS - distance) / AVOIDANCE_RADIUS * 50;
+                        avoidX += dx / distance * strength;
+                        avoidY += dy / distance * strength;
+                    }
+                }
+
+                float avoidMagnitude = (float) Math.sqrt(avoidX * avoidX + avoidY * avoidY);
+                if (avoidMagnitude > 0) {
+                    float push = Math.min(avoidMagnitude, 50f) * deltaTime * 10 / avoidMagnitude;
+                    float velX = physics1.getVelocityX() + avoidX * push * 0.15f;
+                    float velY = physics1.getVelocityY() + avoidY * push * 0.15f;
+                    float speed = (float) Math.sqrt(velX * velX + velY * velY);
+                    if (speed > 150f) {
+                        velX = velX / speed * 150f;
+                        velY = velY / speed * 150f;
+                    }
+                    physics1.setVelocity(velX, velY);
+                }
+            }
+        }
+    }
+}
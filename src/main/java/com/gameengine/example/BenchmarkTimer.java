@@ -0,0 +1,42 @@
+package com.gameengine.example;
+
+/**
+ * 无窗口基准共用的计时：按试跑耗时决定次数，预热后分几批计时，取最快一批的平均值，减少 GC 和 JIT 的干扰。
+ */
+final class BenchmarkTimer {
+    private static final int BATCHES = 5;
+    // 计算结果写到这里，防止 JIT 把结果没人用的循环整个消掉
+    private static volatile long sink;
+
+    private BenchmarkTimer() {
+    }
+
+    /** 每次调用 body 的纳秒数；预热和每一批都大约持续 batchNanos。 */
+    static double nanosPerRun(Runnable body, long batchNanos) {
+        long start = System.nanoTime();
+        body.run();
+        long once = Math.max(1, System.nanoTime() - start);
+        int runs = (int) Math.max(1, Math.min(Integer.MAX_VALUE, batchNanos / once));
+        for (int i = 0; i < runs; i++) {
+            body.run();
+        }
+        // 预热后重新估一次，解释执行时的试跑会严重高估
+        start = System.nanoTime();
+        body.run();
+        once = Math.max(1, System.nanoTime() - start);
+        runs = (int) Math.max(1, Math.min(Integer.MAX_VALUE, batchNanos / once));
+        long best = Long.MAX_VALUE;
+        for (int batch = 0; batch < BATCHES; batch++) {
+            start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                body.run();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / runs;
+    }
+
+    static void consume(long value) {
+        sink += value;
+    }
+}
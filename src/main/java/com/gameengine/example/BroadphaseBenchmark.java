@@ -0,0 +1,224 @@
+package com.gameengine.example;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.Tag;
+import com.gameengine.math.Vector2;
+import com.gameengine.physics.DynamicAabbTree;
+import com.gameengine.physics.SpatialHash;
+import com.gameengine.physics.SpatialIndex;
+import com.gameengine.scene.Scene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 宽相索引基准：SpatialHash 与 DynamicAabbTree 在两种分布下每 tick 的索引更新和查询耗时。
+ * GameScene 式：半径 15 的 AI 均匀散布、少量半径 2.5 的装饰物，密度与 800x600 里 30 个 AI 相同，
+ * 每个 AI 做一次避让半径查询。Hulu 式：半径 12.5 的妖精以正态分布聚在葫芦娃周围并绕其移动，
+ * 另有 1/5 是 600 px/s 飞行的半径 5 子弹，每发子弹查询最近的妖精；密度与 800x600 里 2000 个妖精相同。
+ * 稀疏混合：几乎空旷的世界里 1% 是半径 300 的静止大装饰，其余是半径 3 的飞行粒子，每个粒子做一次半径查询，
+ * 对应包围盒树要解决的尺寸悬殊情形。
+ * 每个 tick 全部对象都移动，交给 SpatialIndex.update 处理（SpatialHash 退化为全量重建）。
+ * 用法：BroadphaseBenchmark [sizes...]
+ */
+public class BroadphaseBenchmark {
+    private static final float DT = 1.0f / 60.0f;
+    private static final long MEASURE_NANOS = 500_000_000L;
+    private static final float AVOID_RADIUS = 60f;
+    private static final float SPARSE_RADIUS = 30f;
+    private static final float NEAREST_RADIUS = 300f;
+    private static final String[] LAYOUTS = {"game", "hulu", "sparse"};
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 50_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        // 第一遍只预热，两种索引都编译稳定后再计时
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                System.out.printf("%-6s %7s %-16s %11s %11s %11s%n",
+                    "layout", "objects", "index", "update ms", "query ms", "total ms");
+            }
+            for (int size : sizes) {
+                for (int layout = 0; layout < LAYOUTS.length; layout++) {
+                    SpatialIndex[] indexes = {new SpatialHash(), new DynamicAabbTree()};
+                    for (SpatialIndex index : indexes) {
+                        double[] nanos = measure(new World(size, layout), index);
+                        if (pass == 1) {
+                            System.out.printf("%-6s %7d %-16s %11.3f %11.3f %11.3f%n", LAYOUTS[layout], size,
+                                index.getClass().getSimpleName(), nanos[0] / 1e6, nanos[1] / 1e6, (nanos[0] + nanos[1]) / 1e6);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // 返回每 tick 的 {update, query} 纳秒：先跑与计时同样长的预热，再按总耗时最快的一批计
+    private static double[] measure(World world, SpatialIndex index) {
+        List<GameObject> out = new ArrayList<>();
+        index.rebuild(world.objects);
+        long[] sums = new long[2];
+        long elapsed = 0;
+        while (elapsed < MEASURE_NANOS) {
+            elapsed += tick(world, index, out, sums);
+        }
+        double[] best = {Double.MAX_VALUE, Double.MAX_VALUE};
+        for (int batch = 0; batch < 5; batch++) {
+            sums[0] = sums[1] = 0;
+            long nanos = 0;
+            int ticks = 0;
+            while (nanos < MEASURE_NANOS / 5) {
+                nanos += tick(world, index, out, sums);
+                ticks++;
+            }
+            if ((double) nanos / ticks < best[0] + best[1]) {
+                best[0] = (double) sums[0] / ticks;
+                best[1] = (double) sums[1] / ticks;
+            }
+        }
+        return best;
+    }
+
+    private static long tick(World world, SpatialIndex index, List<GameObject> out, long[] sums) {
+        world.move();
+        long start = System.nanoTime();
+        index.update(world.objects, world.objects, Collections.emptyList());
+        long updated = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < world.queriers; i++) {
+            TransformComponent transform = world.transforms[i];
+            if (world.layout == 1) {
+                found += index.queryNearest(transform.getX(), transform.getY(), 1, NEAREST_RADIUS, world.monsterMask, out);
+            } else {
+                float radius = world.layout == 0 ? AVOID_RADIUS : SPARSE_RADIUS;
+                found += index.queryRadius(transform.getX(), transform.getY(), radius, 0, out);
+            }
+        }
+        long end = System.nanoTime();
+        if (found == 0) throw new IllegalStateException(index.getClass().getSimpleName() + " returned nothing");
+        BenchmarkTimer.consume(found);
+        sums[0] += updated - start;
+        sums[1] += end - updated;
+        return end - start;
+    }
+
+    // 查询方放在数组前部：GameScene 式是 AI，Hulu 式是子弹，稀疏混合是粒子
+    private static final class World {
+        final int layout;
+        final List<GameObject> objects = new ArrayList<>();
+        final TransformComponent[] transforms;
+        final float[] velX;
+        final float[] velY;
+        final int queriers;
+        final long monsterMask = Tag.mask("Monster");
+        final int monstersFrom;
+        final int monstersTo;
+        final float width;
+        final float height;
+
+        World(int count, int layout) {
+            this.layout = layout;
+            boolean hulu = layout == 1;
+            // 每个对象平均占的面积：800x600 里 30 个 AI、2000 个妖精，稀疏混合再空旷一个量级
+            double areaPerObject = layout == 0 ? 800 * 600 / 30.0 : hulu ? 800 * 600 / 2000.0 : 160_000;
+            float scale = (float) Math.sqrt(count * areaPerObject / (800 * 600));
+            width = 800 * scale;
+            height = 600 * scale;
+            transforms = new TransformComponent[count];
+            velX = new float[count];
+            velY = new float[count];
+            SplittableRandom random = new SplittableRandom(count);
+            int bullets = hulu ? count / 5 : 0;
+            int decorations = layout == 0 ? count / 6 : layout == 2 ? Math.max(1, count / 100) : 0;
+            int agents = count - 1 - (hulu ? bullets : decorations);
+            queriers = hulu ? bullets : agents;
+            monstersFrom = hulu ? bullets : 0;
+            monstersTo = hulu ? bullets + agents : 0;
+
+            int next = 0;
+            if (layout == 2) {
+                for (int i = 0; i < agents; i++, next++) {
+                    add(next, "Particle", 3f, random.nextFloat() * width, random.nextFloat() * height,
+                        (random.nextFloat() - 0.5f) * 400, (random.nextFloat() - 0.5f) * 400);
+                }
+                for (int i = 0; i <= decorations; i++, next++) {
+                    add(next, "Decoration", 300f, random.nextFloat() * width, random.nextFloat() * height, 0, 0);
+                }
+            } else if (hulu) {
+                for (int i = 0; i < bullets; i++, next++) {
+                    float angle = (float) (random.nextDouble() * Math.PI * 2);
+                    add(next, "Bullet", 5f, random.nextFloat() * width, random.nextFloat() * height,
+                        (float) Math.cos(angle) * 600f, (float) Math.sin(angle) * 600f);
+                }
+                for (int i = 0; i < agents; i++, next++) {
+                    float x = width / 2 + (float) random.nextGaussian() * width / 6;
+                    float y = height / 2 + (float) random.nextGaussian() * height / 6;
+                    add(next, "Monster", 12.5f, x, y, 0, 0);
+                }
+                add(next, "Huluwa", 15f, width / 2, height / 2, 0, 0);
+            } else {
+                for (int i = 0; i < agents; i++, next++) {
+                    add(next, "AIPlayer", 15f, random.nextFloat() * width, random.nextFloat() * height,
+                        (random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150);
+                }
+                for (int i = 0; i < decorations; i++, next++) {
+                    add(next, "Decoration", 2.5f, random.nextFloat() * width, random.nextFloat() * height,
+                        (random.nextFloat() - 0.5f) * 40, (random.nextFloat() - 0.5f) * 40);
+                }
+                add(next, "Player", 15f, width / 2, height / 2, 0, 0);
+            }
+            // 索引只收录仍在场景中的对象；场景本身不再 update，只作为宿主
+            Scene scene = new Scene("BroadphaseBenchmark");
+            for (int i = 0; i < objects.size(); i++) {
+                scene.addGameObject(objects.get(i));
+            }
+            scene.initialize();
+            scene.update(DT);
+        }
+
+        private void add(int slot, String tag, float radius, float x, float y, float vx, float vy) {
+            GameObject obj = new GameObject(tag);
+            obj.addTag(tag);
+            transforms[slot] = obj.addComponent(new TransformComponent(new Vector2(x, y)));
+            obj.addComponent(ColliderComponent.circle(radius));
+            velX[slot] = vx;
+            velY[slot] = vy;
+            objects.add(obj);
+        }
+
+        // 子弹和 AI 在边界反弹；妖精以 50 px/s 绕中心转，聚集的分布保持不变
+        void move() {
+            float cx = width / 2;
+            float cy = height / 2;
+            for (int i = 0; i < transforms.length; i++) {
+                TransformComponent transform = transforms[i];
+                float x = transform.getX();
+                float y = transform.getY();
+                if (i >= monstersFrom && i < monstersTo) {
+                    float dx = x - cx;
+                    float dy = y - cy;
+                    float distance = Math.max(1f, (float) Math.sqrt(dx * dx + dy * dy));
+                    float angle = 50f * DT / distance;
+                    float cos = (float) Math.cos(angle);
+                    float sin = (float) Math.sin(angle);
+                    transform.setPosition(cx + dx * cos - dy * sin, cy + dx * sin + dy * cos);
+                    continue;
+                }
+                x += velX[i] * DT;
+                y += velY[i] * DT;
+                if (x < 0 || x > width) velX[i] = -velX[i];
+                if (y < 0 || y > height) velY[i] = -velY[i];
+                transform.setPosition(Math.max(0, Math.min(width, x)), Math.max(0, Math.min(height, y)));
+            }
+        }
+    }
+}
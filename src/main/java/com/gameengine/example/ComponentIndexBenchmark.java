@@ -0,0 +1,86 @@
+package com.gameengine.example;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 组件索引基准：场景中有 100 / 1k / 10k 个对象时，取出全部 ColliderComponent 并遍历一遍，
+ * 比较 Scene.getComponents 的实时视图与原来的 stream 扫描（逐对象两次 isInstance 线性查找、收集两个新列表）。
+ * 最后一列是每个对象每帧各查询一次时一帧的总耗时，也就是原来随对象数平方增长的那部分。
+ * 用法：ComponentIndexBenchmark [sizes...]
+ */
+public class ComponentIndexBenchmark {
+    private static final long BATCH_NANOS = 200_000_000L;
+
+    public static void main(String[] args) {
+        int[] sizes = {100, 1_000, 10_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%8s %14s %14s %9s %16s %16s%n",
+            "objects", "stream ns/op", "index ns/op", "speedup", "stream ms/frame", "index ms/frame");
+        for (int size : sizes) {
+            Scene scene = populate(size);
+            double stream = BenchmarkTimer.nanosPerRun(() -> BenchmarkTimer.consume(touch(streamScan(scene, ColliderComponent.class))), BATCH_NANOS);
+            double index = BenchmarkTimer.nanosPerRun(() -> BenchmarkTimer.consume(touch(scene.getComponents(ColliderComponent.class))), BATCH_NANOS);
+            System.out.printf("%8d %14.0f %14.0f %8.1fx %16.3f %16.3f%n",
+                size, stream, index, stream / index, stream * size / 1e6, index * size / 1e6);
+        }
+    }
+
+    // 组件挂载顺序与游戏里一致：Transform、Physics 在前，Collider 在后，线性查找要走到最后
+    private static Scene populate(int count) {
+        Scene scene = new Scene("ComponentIndexBenchmark");
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject("Body");
+            obj.addComponent(new TransformComponent(new Vector2(i % 1920, i / 1920)));
+            obj.addComponent(new PhysicsComponent(1f));
+            if (i % 2 == 0) {
+                obj.addComponent(ColliderComponent.circle(10));
+            }
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        scene.update(0);
+        return scene;
+    }
+
+    private static long touch(List<? extends Component<?>> components) {
+        long enabled = 0;
+        for (int i = 0; i < components.size(); i++) {
+            if (components.get(i).isEnabled()) enabled++;
+        }
+        return enabled;
+    }
+
+    // 原来的 Scene.getComponents：先筛出带该组件的对象，再逐个取组件，两步都按 isInstance 线性查找
+    private static <T extends Component<T>> List<T> streamScan(Scene scene, Class<T> type) {
+        return scene.getGameObjectsView().stream()
+            .filter(obj -> findLinear(obj, type) != null)
+            .collect(Collectors.toList()).stream()
+            .map(obj -> findLinear(obj, type))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private static <T extends Component<T>> T findLinear(GameObject obj, Class<T> type) {
+        for (Component<?> component : obj.getComponentList()) {
+            if (type.isInstance(component)) {
+                return type.cast(component);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.gameengine.example;
+
+import com.gameengine.components.AISteeringComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.ParallelUpdate;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.core.StateHash;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 无窗口的确定性检查：同一种子分别用 1、2、32 个线程跑相同 tick 数，逐 tick 比较 StateHash。
+ * 用法：DeterminismCheck [seed] [ticks] [bodies]
+ */
+public class DeterminismCheck {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final float DT = 1.0f / 60.0f;
+    private static final int[] THREAD_COUNTS = {1, 2, 32};
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 12345L;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int bodies = args.length > 2 ? Integer.parseInt(args[2]) : 1500;
+
+        long[] reference = run(seed, ticks, bodies, THREAD_COUNTS[0]);
+        boolean ok = true;
+        for (int i = 1; i < THREAD_COUNTS.length; i++) {
+            long[] hashes = run(seed, ticks, bodies, THREAD_COUNTS[i]);
+            int mismatch = firstMismatch(reference, hashes);
+            if (mismatch >= 0) {
+                System.out.printf("threads=%d diverged at tick %d: %016x != %016x%n",
+                    THREAD_COUNTS[i], mismatch, hashes[mismatch], reference[mismatch]);
+                ok = false;
+            } else {
+                System.out.printf("threads=%d matches, final hash %016x%n", THREAD_COUNTS[i], hashes[ticks - 1]);
+            }
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static int firstMismatch(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return i;
+        }
+        return -1;
+    }
+
+    private static long[] run(long seed, int ticks, int bodies, int threads) {
+        Scene scene = new Scene("DeterminismCheck");
+        scene.setRandomSeed(seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        scene.setParallelPool(pool);
+        GameLogic logic = new GameLogic(scene);
+        PhysicsSystem physics = new PhysicsSystem(scene, WIDTH, HEIGHT, threads);
+
+        SplittableRandom spawn = scene.getRandom().forStream("DeterminismCheck");
+        for (int i = 0; i < bodies; i++) {
+            GameObject obj = new GameObject("AIPlayer");
+            obj.addComponent(new TransformComponent(new Vector2(
+                spawn.nextInt(WIDTH - 40) + 20, spawn.nextInt(HEIGHT - 40) + 20)));
+            PhysicsComponent body = obj.addComponent(new PhysicsComponent(0.5f));
+            body.setFriction(0.98f);
+            obj.addComponent(GameLogic.createAIPlayerCollider());
+            obj.addComponent(new AISteeringComponent());
+            obj.addComponent(new Wanderer());
+            obj.addTag(GameLogic.AI_PLAYER_TAG);
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+
+        long[] hashes = new long[ticks];
+        try {
+            for (int t = 0; t < ticks; t++) {
+                scene.update(DT);
+                logic.handleAIPlayerMovement(DT);
+                logic.handleAIPlayerAvoidance(DT);
+                physics.update(DT);
+                hashes[t] = StateHash.of(scene);
+            }
+        } finally {
+            physics.cleanup();
+            pool.shutdown();
+        }
+        return hashes;
+    }
+
+    // 并行阶段内读自身随机流，偶尔通过 defer 推一下另一个实体，检验延后操作的执行顺序
+    private static final class Wanderer extends Component<Wanderer> implements ParallelUpdate {
+        private SplittableRandom random;
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            if (random == null) {
+                random = owner.getScene().getRandom().forEntity(owner.getId());
+            }
+            if (random.nextInt(8) != 0) return;
+            Scene scene = owner.getScene();
+            List<GameObject> others = scene.findByTag(GameLogic.AI_PLAYER_TAG);
+            GameObject target = others.get(random.nextInt(others.size()));
+            if (!target.isActive()) return;
+            float dx = (random.nextFloat() - 0.5f) * 20;
+            float dy = (random.nextFloat() - 0.5f) * 20;
+            scene.defer(() -> {
+                PhysicsComponent body = target.getComponent(PhysicsComponent.class);
+                if (body != null) {
+                    body.addVelocity(dx, dy);
+                }
+            });
+        }
+
+        @Override
+        public void render() {
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.gameengine.example;
 
+import com.gameengine.components.AISteeringComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
@@ -9,6 +10,7 @@ import com.gameengine.core.GameObject;
 import com.gameengine.core.ParticleSystem;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
+import com.gameengine.physics.SpatialHash;
 import com.gameengine.scene.Scene;
 
 import java.util.*;
@@ -16,7 +18,7 @@ import java.util.*;
 public class GameScene extends Scene {
     private final GameEngine engine;
     private IRenderer renderer;
-    private Random random;
+    private SplittableRandom random;
     private float time;
     private GameLogic gameLogic;
     private ParticleSystem playerParticles;
@@ -36,8 +38,10 @@ public class GameScene extends Scene {
     @Override
     public void initialize() {
         super.initialize();
+        // AI 尺寸一致、分布均匀，网格的重建加查询比包围盒树快（见 BroadphaseBenchmark）
+        setSpatialIndex(new SpatialHash());
         this.renderer = engine.getRenderer();
-        this.random = new Random();
+        this.random = getRandom().forStream("GameScene");
         this.time = 0;
         this.gameLogic = new GameLogic(this);
         this.gameLogic.setGameEngine(engine);
@@ -133,8 +137,7 @@ public class GameScene extends Scene {
             if (player != null) {
                 TransformComponent transform = player.getComponent(TransformComponent.class);
                 if (transform != null) {
-                    Vector2 playerPos = transform.getPosition();
-                    playerParticles.setPosition(playerPos);
+                    playerParticles.setPosition(transform.getX(), transform.getY());
                 }
             }
             playerParticles.update(deltaTime);
@@ -142,7 +145,8 @@ public class GameScene extends Scene {
 
         List<GameObject> aiPlayers = gameLogic.getAIPlayers();
         if (!freeze) {
-            for (GameObject aiPlayer : aiPlayers) {
+            for (int i = 0; i < aiPlayers.size(); i++) {
+                GameObject aiPlayer = aiPlayers.get(i);
                 if (aiPlayer != null && aiPlayer.isActive()) {
                     ParticleSystem particles = aiPlayerParticles.get(aiPlayer);
                     if (particles == null) {
@@ -156,7 +160,7 @@ public class GameScene extends Scene {
                     if (particles != null) {
                         TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
                         if (transform != null) {
-                            particles.setPosition(transform.getPosition());
+                            particles.setPosition(transform.getX(), transform.getY());
                         }
                         particles.update(deltaTime);
                     }
@@ -164,15 +168,14 @@ public class GameScene extends Scene {
             }
         }
 
-        List<GameObject> toRemove = new ArrayList<>();
-        for (Map.Entry<GameObject, ParticleSystem> entry : aiPlayerParticles.entrySet()) {
-            if (!entry.getKey().isActive() || !aiPlayers.contains(entry.getKey())) {
-                toRemove.add(entry.getKey());
+        // 对象离开场景或失活后丢弃其粒子
+        Iterator<Map.Entry<GameObject, ParticleSystem>> it = aiPlayerParticles.entrySet().iterator();
+        while (it.hasNext()) {
+            GameObject owner = it.next().getKey();
+            if (!owner.isActive() || owner.getScene() != this) {
+                it.remove();
             }
         }
-        for (GameObject removed : toRemove) {
-            aiPlayerParticles.remove(removed);
-        }
 
         for (int i = collisionParticles.size() - 1; i >= 0; i--) {
             ParticleSystem ps = collisionParticles.get(i);
@@ -236,6 +239,11 @@ public class GameScene extends Scene {
 
             @Override
             public void render() {
+                TransformComponent transform = getComponent(TransformComponent.class);
+                if (transform != null && getScene() != null) {
+                    if (basePosition == null) basePosition = new Vector2();
+                    transform.getInterpolatedPosition(getScene().getInterpolationAlpha(), basePosition);
+                }
                 renderBodyParts();
             }
 
@@ -271,12 +279,16 @@ public class GameScene extends Scene {
             }
         };
 
+        player.addTag(GameLogic.PLAYER_TAG);
         player.addComponent(new TransformComponent(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)));
 
         PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
         physics.setFriction(0.95f);
+        player.addComponent(GameLogic.createPlayerCollider());
 
         addGameObject(player);
+        // 远离玩家的 AI 降频更新
+        getUpdateLod().setFocus(player);
     }
 
     private void createAIPlayers() {
@@ -307,6 +319,7 @@ public class GameScene extends Scene {
             );
         } while (position.distance(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)) < 100);
 
+        aiPlayer.addTag(GameLogic.AI_PLAYER_TAG);
         aiPlayer.addComponent(new TransformComponent(position));
         // 使用工厂统一外观
         RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
@@ -322,6 +335,8 @@ public class GameScene extends Scene {
             (random.nextFloat() - 0.5f) * 150
         ));
         physics.setFriction(0.98f);
+        aiPlayer.addComponent(GameLogic.createAIPlayerCollider());
+        aiPlayer.addComponent(new AISteeringComponent());
 
         addGameObject(aiPlayer);
     }
@@ -351,6 +366,7 @@ public class GameScene extends Scene {
             random.nextFloat() * renderer.getHeight()
         );
 
+        decoration.addTag("Decoration");
         decoration.addComponent(new TransformComponent(position));
 
         RenderComponent render = decoration.addComponent(new RenderComponent(
@@ -365,9 +381,6 @@ public class GameScene extends Scene {
 
     @Override
     public void clear() {
-        if (gameLogic != null) {
-            gameLogic.cleanup();
-        }
         if (playerParticles != null) {
             playerParticles.clear();
         }
@@ -0,0 +1,90 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.SplittableRandom;
+
+/**
+ * 积分路径基准：1k 到 1M 个运动物体，比较 PhysicsSystem 的逐对象路径与启用 ArchetypeStorage 后的
+ * 列式 IntegrationKernel 路径。两边都用单线程的池，只计 PhysicsSystem.update，Scene.update 不计时。
+ * 1M 个物体需要较大的堆，例如 -Xmx4g。
+ * 用法：IntegrationBenchmark [sizes...]
+ */
+public class IntegrationBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final float DT = 1.0f / 60.0f;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%9s %18s %18s %9s%n", "bodies", "per-object ns/body", "kernel ns/body", "speedup");
+        for (int size : sizes) {
+            double perObject = measure(size, false);
+            double kernel = measure(size, true);
+            System.out.printf("%9d %18.2f %18.2f %8.2fx%n", size, perObject / size, kernel / size, perObject / kernel);
+        }
+    }
+
+    // 返回每次 PhysicsSystem.update 的纳秒数：先跑与计时同样长的预热，再按最快的一批计
+    private static double measure(int count, boolean columnar) {
+        Scene scene = populate(count, columnar);
+        PhysicsSystem physics = new PhysicsSystem(scene, WIDTH, HEIGHT, 1);
+        try {
+            long elapsed = 0;
+            while (elapsed < MEASURE_NANOS) {
+                elapsed += tick(scene, physics);
+            }
+            double best = Double.MAX_VALUE;
+            for (int batch = 0; batch < 5; batch++) {
+                long nanos = 0;
+                int ticks = 0;
+                while (nanos < MEASURE_NANOS / 5) {
+                    nanos += tick(scene, physics);
+                    ticks++;
+                }
+                best = Math.min(best, (double) nanos / ticks);
+            }
+            return best;
+        } finally {
+            physics.cleanup();
+        }
+    }
+
+    private static long tick(Scene scene, PhysicsSystem physics) {
+        scene.update(DT);
+        long start = System.nanoTime();
+        physics.update(DT);
+        return System.nanoTime() - start;
+    }
+
+    // 无摩擦、在边界之间来回弹，物体始终醒着
+    private static Scene populate(int count, boolean columnar) {
+        Scene scene = new Scene("IntegrationBenchmark");
+        if (columnar) {
+            scene.enableArchetypeStorage();
+        }
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject("Body");
+            obj.addComponent(new TransformComponent(new Vector2(random.nextInt(WIDTH - 15), random.nextInt(HEIGHT - 15))));
+            PhysicsComponent body = obj.addComponent(new PhysicsComponent(1f));
+            body.setFriction(1f);
+            body.setVelocity(random.nextInt(400) - 200, random.nextInt(400) - 200);
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        return scene;
+    }
+}
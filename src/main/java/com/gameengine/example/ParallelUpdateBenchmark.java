@@ -0,0 +1,124 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.ParallelUpdate;
+import com.gameengine.math.Vector2;
+import com.gameengine.navigation.FlowField;
+import com.gameengine.scene.Scene;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 并行更新阶段的扩展性基准：10k 个按妖精逻辑追踪目标的 ParallelUpdate 组件，
+ * 分别用 1、2、4 … 个线程的池执行 Scene.update，输出每 tick 耗时和相对单线程的加速比。
+ * 妖精组件依赖带窗口的 HuluMainScene，这里用同样的流场采样、速度设置和延后攻击代替。
+ * 用法：ParallelUpdateBenchmark [monsters] [maxThreads]
+ */
+public class ParallelUpdateBenchmark {
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final float DT = 1.0f / 60.0f;
+    private static final long BATCH_NANOS = 500_000_000L;
+
+    public static void main(String[] args) {
+        int monsters = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        System.out.printf("monsters=%d, available processors=%d%n", monsters, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %9s%n", "threads", "ms/tick", "speedup");
+
+        double single = 0;
+        // 1、2、4 … 直到 maxThreads（最后一档不是 2 的幂时也测）
+        for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1 : Math.min(threads * 2, maxThreads)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Scene scene = populate(monsters, pool);
+                double nanos = BenchmarkTimer.nanosPerRun(() -> scene.update(DT), BATCH_NANOS);
+                if (threads == 1) single = nanos;
+                System.out.printf("%8d %12.3f %8.2fx%n", threads, nanos / 1e6, single / nanos);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static Scene populate(int monsters, ForkJoinPool pool) {
+        Scene scene = new Scene("ParallelUpdateBenchmark");
+        scene.setParallelPool(pool);
+        FlowField field = new FlowField(WIDTH, HEIGHT, 20);
+        field.blockRect(400, 200, 40, 320);
+        field.blockRect(800, 100, 40, 320);
+        field.setTarget(WIDTH / 2f, HEIGHT / 2f);
+
+        GameObject target = new GameObject("Target");
+        TransformComponent targetTransform = target.addComponent(new TransformComponent(new Vector2(WIDTH / 2f, HEIGHT / 2f)));
+        scene.addGameObject(target);
+
+        SplittableRandom random = new SplittableRandom(monsters);
+        for (int i = 0; i < monsters; i++) {
+            GameObject monster = new GameObject("Monster");
+            monster.addComponent(new TransformComponent(new Vector2(random.nextInt(WIDTH), random.nextInt(HEIGHT))));
+            monster.addComponent(new PhysicsComponent(1f));
+            monster.addComponent(new Chaser(field, targetTransform));
+            scene.addGameObject(monster);
+        }
+        scene.initialize();
+        return scene;
+    }
+
+    // 与 MonsterComponent.update 相同的读写模式：读目标位置和流场，只写自身速度，攻击延后到主线程
+    private static final class Chaser extends Component<Chaser> implements ParallelUpdate {
+        private static final float SPEED = 50f;
+        private static final float ATTACK_RANGE = 40f;
+        private static final float ATTACK_INTERVAL = 5f;
+        private final FlowField field;
+        private final TransformComponent target;
+        private float attackTimer;
+
+        Chaser(FlowField field, TransformComponent target) {
+            this.field = field;
+            this.target = target;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            TransformComponent transform = owner.getComponent(TransformComponent.class);
+            PhysicsComponent physics = owner.getComponent(PhysicsComponent.class);
+            if (transform == null || physics == null) return;
+            float x = transform.getX();
+            float y = transform.getY();
+            float dx = target.getX() - x;
+            float dy = target.getY() - y;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            if (distance > ATTACK_RANGE) {
+                int cell = field.cellAt(x, y);
+                float dirX = field.getDirectionX(cell);
+                float dirY = field.getDirectionY(cell);
+                if (dirX == 0 && dirY == 0) {
+                    dirX = dx / distance;
+                    dirY = dy / distance;
+                }
+                physics.setVelocity(dirX * SPEED, dirY * SPEED);
+                attackTimer = 0;
+            } else {
+                physics.setVelocity(0, 0);
+                attackTimer += deltaTime;
+                if (attackTimer >= ATTACK_INTERVAL) {
+                    attackTimer = 0;
+                    owner.getScene().defer(() -> BenchmarkTimer.consume(1));
+                }
+            }
+        }
+
+        @Override
+        public void render() {
+        }
+    }
+}
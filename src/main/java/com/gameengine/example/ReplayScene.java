@@ -28,13 +28,16 @@ public class ReplayScene extends Scene {
             float w, h;
             float r=0.9f,g=0.9f,b=0.2f,a=1.0f; // 默认颜色
             String id;
+            String name;
+            String key; // 跨关键帧匹配用，见 RecordingJson.entityKey
         }
         double t;
         java.util.List<EntityInfo> entities = new ArrayList<>();
+        java.util.Map<String, EntityInfo> byKey = new HashMap<>();
     }
 
     private final List<Keyframe> keyframes = new ArrayList<>();
-    private final java.util.List<GameObject> objectList = new ArrayList<>();
+    private final java.util.Map<String, GameObject> objectsByKey = new HashMap<>();
 
     // 如果 path 为 null，则先展示 recordings 目录下的文件列表，供用户选择
     public ReplayScene(GameEngine engine, String path) {
@@ -51,7 +54,7 @@ public class ReplayScene extends Scene {
         // 重置状态，防止从列表进入后残留
         this.time = 0f;
         this.keyframes.clear();
-        this.objectList.clear();
+        this.objectsByKey.clear();
         if (recordingPath != null) {
             loadRecording(recordingPath);
             buildObjectsFromFirstKeyframe();
@@ -128,9 +131,13 @@ public class ReplayScene extends Scene {
                         int bracket = line.indexOf('[', idx);
                         String arr = bracket >= 0 ? com.gameengine.recording.RecordingJson.extractArray(line, bracket) : "";
                         String[] parts = com.gameengine.recording.RecordingJson.splitTopLevel(arr);
+                        Map<String, Integer> seen = new HashMap<>();
                         for (String p : parts) {
                             Keyframe.EntityInfo ei = new Keyframe.EntityInfo();
                             ei.id = com.gameengine.recording.RecordingJson.stripQuotes(com.gameengine.recording.RecordingJson.field(p, "id"));
+                            String name = com.gameengine.recording.RecordingJson.stripQuotes(com.gameengine.recording.RecordingJson.field(p, "name"));
+                            ei.name = name != null ? name : ei.id;
+                            ei.key = com.gameengine.recording.RecordingJson.entityKey(ei.id, seen);
                             double x = com.gameengine.recording.RecordingJson.parseDouble(com.gameengine.recording.RecordingJson.field(p, "x"));
                             double y = com.gameengine.recording.RecordingJson.parseDouble(com.gameengine.recording.RecordingJson.field(p, "y"));
                             ei.pos = new Vector2((float)x, (float)y);
@@ -152,6 +159,18 @@ public class ReplayScene extends Scene {
                                 }
                             }
                             kf.entities.add(ei);
+                            kf.byKey.put(ei.key, ei);
+                        }
+                    }
+                    Keyframe prev = keyframes.isEmpty() ? null : keyframes.get(keyframes.size() - 1);
+                    if (prev != null && com.gameengine.recording.RecordingJson.isDeltaKeyframe(line)) {
+                        // 增量关键帧只含变化的实体，其余沿用上一关键帧
+                        Set<String> removed = com.gameengine.recording.RecordingJson.removedIds(line);
+                        for (Keyframe.EntityInfo old : prev.entities) {
+                            if (!kf.byKey.containsKey(old.key) && !removed.contains(old.key)) {
+                                kf.entities.add(old);
+                                kf.byKey.put(old.key, old);
+                            }
                         }
                     }
                     keyframes.add(kf);
@@ -167,56 +186,56 @@ public class ReplayScene extends Scene {
         if (keyframes.isEmpty()) return;
         Keyframe kf0 = keyframes.get(0);
         // 按实体构建对象（使用预制），实现与游戏内一致外观
-        objectList.clear();
+        objectsByKey.clear();
         clear();
         for (int i = 0; i < kf0.entities.size(); i++) {
-            GameObject obj = buildObjectFromEntity(kf0.entities.get(i), i);
+            Keyframe.EntityInfo ei = kf0.entities.get(i);
+            GameObject obj = buildObjectFromEntity(ei, i);
             addGameObject(obj);
-            objectList.add(obj);
+            objectsByKey.put(ei.key, obj);
         }
         time = 0f;
     }
 
-    private void ensureObjectCount(int n) {
-        while (objectList.size() < n) {
-            GameObject obj = new GameObject("RObj#" + objectList.size());
-            obj.addComponent(new TransformComponent(new Vector2(0, 0)));
-            // 为回放对象添加可渲染组件（默认外观，稍后在 refreshRenderFromKeyframe 应用真实外观）
-            addGameObject(obj);
-            objectList.add(obj);
-        }
-        while (objectList.size() > n) {
-            GameObject obj = objectList.remove(objectList.size() - 1);
-            obj.setActive(false);
-        }
-    }
-
-    
+    // 按实体 key 配对相邻关键帧：a 中出现的实体才显示，b 中缺失则停在 a 的位置
     private void updateInterpolatedPositions(Keyframe a, Keyframe b, float u) {
-        int n = Math.min(a.entities.size(), b.entities.size());
-        ensureObjectCount(n);
-        for (int i = 0; i < n; i++) {
-            Vector2 pa = a.entities.get(i).pos;
-            Vector2 pb = b.entities.get(i).pos;
+        for (int i = 0; i < a.entities.size(); i++) {
+            Keyframe.EntityInfo ea = a.entities.get(i);
+            Keyframe.EntityInfo eb = b.byKey.get(ea.key);
+            Vector2 pa = ea.pos;
+            Vector2 pb = eb != null ? eb.pos : pa;
             float x = (float)((1.0 - u) * pa.x + u * pb.x);
             float y = (float)((1.0 - u) * pa.y + u * pb.y);
-            GameObject obj = objectList.get(i);
+            GameObject obj = objectsByKey.get(ea.key);
+            if (obj == null) {
+                obj = buildObjectFromEntity(ea, i);
+                addGameObject(obj);
+                objectsByKey.put(ea.key, obj);
+            }
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc != null) tc.setPosition(new Vector2(x, y));
         }
+        Iterator<Map.Entry<String, GameObject>> it = objectsByKey.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, GameObject> entry = it.next();
+            if (!a.byKey.containsKey(entry.getKey())) {
+                entry.getValue().setActive(false);
+                it.remove();
+            }
+        }
     }
 
     private GameObject buildObjectFromEntity(Keyframe.EntityInfo ei, int index) {
         GameObject obj;
-        if ("Player".equalsIgnoreCase(ei.id)) {
+        if ("Player".equalsIgnoreCase(ei.name)) {
             obj = com.gameengine.example.EntityFactory.createPlayerVisual(renderer);
-        } else if ("AIPlayer".equalsIgnoreCase(ei.id)) {
+        } else if ("AIPlayer".equalsIgnoreCase(ei.name)) {
             float w2 = (ei.w > 0 ? ei.w : 20);
             float h2 = (ei.h > 0 ? ei.h : 20);
             obj = com.gameengine.example.EntityFactory.createAIVisual(renderer, w2, h2, ei.r, ei.g, ei.b, ei.a);
         } else {
             if ("CIRCLE".equals(ei.rt)) {
-                GameObject tmp = new GameObject(ei.id == null ? ("Obj#"+index) : ei.id);
+                GameObject tmp = new GameObject(ei.name == null ? ("Obj#"+index) : ei.name);
                 tmp.addComponent(new TransformComponent(new Vector2(0,0)));
                 com.gameengine.components.RenderComponent rc = tmp.addComponent(
                     new com.gameengine.components.RenderComponent(
@@ -230,7 +249,7 @@ public class ReplayScene extends Scene {
             } else {
                 obj = com.gameengine.example.EntityFactory.createAIVisual(renderer, Math.max(1, ei.w>0?ei.w:10), Math.max(1, ei.h>0?ei.h:10), ei.r, ei.g, ei.b, ei.a);
             }
-            obj.setName(ei.id == null ? ("Obj#"+index) : ei.id);
+            obj.setName(ei.name == null ? ("Obj#"+index) : ei.name);
         }
         TransformComponent tc = obj.getComponent(TransformComponent.class);
         if (tc == null) obj.addComponent(new TransformComponent(new Vector2(ei.pos)));
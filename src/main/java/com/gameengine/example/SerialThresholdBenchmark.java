@@ -0,0 +1,140 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 串行阈值的交叉点基准：物体数从 16 到 64k，分别测 PhysicsSystem.integrateRange 在调用线程串行执行、
+ * 以及在 fork/join 池里二分到每线程两个叶子时的耗时，找出并行开始更快的物体数；
+ * 同时列出 PhysicsSystem 自适应阈值在该规模下收敛到的值和它实际的每次 update 耗时。
+ * 用法：SerialThresholdBenchmark [threads]
+ */
+public class SerialThresholdBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final float DT = 1.0f / 60.0f;
+    private static final long BATCH_NANOS = 100_000_000L;
+
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        System.out.printf("threads=%d, available processors=%d%n", threads, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // 第一遍只预热，三条路径都编译稳定后再计时
+            for (int pass = 0; pass < 2; pass++) {
+                if (pass == 1) {
+                    System.out.printf("%7s %12s %12s %9s %16s %16s%n",
+                        "bodies", "serial us", "forkjoin us", "speedup", "PhysicsSystem us", "adaptive thresh");
+                }
+                // 交叉点取 fork/join 从此一直快于串行的最小物体数
+                int crossover = -1;
+                for (int count = 16; count <= 65_536; count *= 2) {
+                    Scene scene = populate(count);
+                    List<PhysicsComponent> bodies = scene.getComponents(PhysicsComponent.class);
+                    int leaf = Math.max(1, count / (threads * 2));
+                    PhysicsSystem physics = new PhysicsSystem(scene, WIDTH, HEIGHT, threads);
+                    try {
+                        double serial = BenchmarkTimer.nanosPerRun(
+                            () -> physics.integrateRange(bodies, 0, bodies.size(), DT), BATCH_NANOS);
+                        double forkJoin = BenchmarkTimer.nanosPerRun(
+                            () -> pool.invoke(new RangeTask(physics, bodies, 0, bodies.size(), leaf)), BATCH_NANOS);
+                        if (forkJoin >= serial) {
+                            crossover = -1;
+                        } else if (crossover < 0) {
+                            crossover = count;
+                        }
+
+                        double adaptive = physicsNanos(scene, physics);
+                        if (pass == 1) {
+                            System.out.printf("%7d %12.2f %12.2f %8.2fx %16.2f %16d%n", count, serial / 1e3,
+                                forkJoin / 1e3, serial / forkJoin, adaptive / 1e3, physics.getSerialThreshold());
+                        }
+                    } finally {
+                        physics.cleanup();
+                    }
+                }
+                if (pass == 1) {
+                    if (crossover > 0) {
+                        System.out.printf("fork/join stays faster than serial from %d bodies%n", crossover);
+                    } else {
+                        System.out.println("fork/join does not stay faster than serial in this range");
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // 每个 tick 先跑 Scene.update 清空脏集合，只计 PhysicsSystem.update；预热一批后取最快一批的均值
+    private static double physicsNanos(Scene scene, PhysicsSystem physics) {
+        double best = Double.MAX_VALUE;
+        for (int batch = 0; batch < 6; batch++) {
+            long nanos = 0;
+            int ticks = 0;
+            while (nanos < BATCH_NANOS / 5) {
+                scene.update(DT);
+                long start = System.nanoTime();
+                physics.update(DT);
+                nanos += System.nanoTime() - start;
+                ticks++;
+            }
+            if (batch > 0) best = Math.min(best, (double) nanos / ticks);
+        }
+        return best;
+    }
+
+    // 二分到 leaf 后调用 PhysicsSystem 的逐对象积分
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final PhysicsSystem physics;
+        private final List<PhysicsComponent> bodies;
+        private final int from;
+        private final int to;
+        private final int leaf;
+
+        RangeTask(PhysicsSystem physics, List<PhysicsComponent> bodies, int from, int to, int leaf) {
+            this.physics = physics;
+            this.bodies = bodies;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leaf) {
+                physics.integrateRange(bodies, from, to, DT);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(physics, bodies, from, mid, leaf), new RangeTask(physics, bodies, mid, to, leaf));
+        }
+    }
+
+    // 无摩擦来回弹，物体不会休眠
+    private static Scene populate(int count) {
+        Scene scene = new Scene("SerialThresholdBenchmark");
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject("Body");
+            obj.addComponent(new TransformComponent(new Vector2(random.nextInt(WIDTH - 15), random.nextInt(HEIGHT - 15))));
+            PhysicsComponent body = obj.addComponent(new PhysicsComponent(1f));
+            body.setFriction(1f);
+            body.setVelocity(random.nextInt(400) - 200, random.nextInt(400) - 200);
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        scene.update(DT);
+        return scene;
+    }
+}
@@ -0,0 +1,153 @@
+package com.gameengine.example;
+
+import com.gameengine.components.AISteeringComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+import com.gameengine.scene.UpdateLod;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * AI 转向状态存放方式的基准：10k 个 AI，比较 GameLogic.handleAIPlayerMovement（状态在 AISteeringComponent 里）
+ * 与原来按 GameObject 查三个 HashMap（目标速度 Vector2、装箱的计时器、随机流）的同一段逻辑，
+ * 输出每 tick 耗时和调用线程每 tick 的分配字节数。
+ * 用法：SteeringStateBenchmark [agents...]
+ */
+public class SteeringStateBenchmark {
+    private static final float DT = 1.0f / 60.0f;
+    private static final long BATCH_NANOS = 300_000_000L;
+    private static final int ALLOCATION_TICKS = 200;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int[] sizes = {10_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        // 第一遍只预热，两条路径都编译稳定后再计时
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                System.out.printf("%8s %15s %15s %9s %19s %19s%n",
+                    "agents", "HashMap ms/tick", "component ms", "speedup", "HashMap bytes/tick", "component bytes/tick");
+            }
+            for (int size : sizes) {
+                Scene mapScene = populate(size);
+                HashMapSteering maps = new HashMapSteering(mapScene);
+                Scene componentScene = populate(size);
+                GameLogic logic = new GameLogic(componentScene);
+
+                double mapNanos = BenchmarkTimer.nanosPerRun(() -> maps.handleAIPlayerMovement(DT), BATCH_NANOS);
+                double componentNanos = BenchmarkTimer.nanosPerRun(() -> logic.handleAIPlayerMovement(DT), BATCH_NANOS);
+                double mapBytes = bytesPerTick(() -> maps.handleAIPlayerMovement(DT));
+                double componentBytes = bytesPerTick(() -> logic.handleAIPlayerMovement(DT));
+                if (pass == 1) {
+                    System.out.printf("%8d %15.3f %15.3f %8.2fx %19.0f %19.0f%n", size,
+                        mapNanos / 1e6, componentNanos / 1e6, mapNanos / componentNanos, mapBytes, componentBytes);
+                }
+            }
+        }
+    }
+
+    private static double bytesPerTick(Runnable tick) {
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ALLOCATION_TICKS; i++) {
+            tick.run();
+        }
+        return (double) (THREADS.getThreadAllocatedBytes(threadId) - before) / ALLOCATION_TICKS;
+    }
+
+    private static Scene populate(int count) {
+        Scene scene = new Scene("SteeringStateBenchmark");
+        scene.setRandomSeed(count);
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject(GameLogic.AI_PLAYER_TAG);
+            obj.addComponent(new TransformComponent(new Vector2(random.nextInt(1920), random.nextInt(1080))));
+            obj.addComponent(new PhysicsComponent(0.5f));
+            obj.addComponent(new AISteeringComponent());
+            obj.addTag(GameLogic.AI_PLAYER_TAG);
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        scene.update(DT);
+        return scene;
+    }
+
+    // 改动前 GameLogic.handleAIPlayerMovement 的状态存放方式，其余逻辑与现在相同
+    private static final class HashMapSteering {
+        private final Scene scene;
+        private final Map<GameObject, Vector2> aiTargetVelocities = new HashMap<>();
+        private final Map<GameObject, Float> aiTargetUpdateTimers = new HashMap<>();
+        private final Map<GameObject, SplittableRandom> aiRandoms = new HashMap<>();
+
+        HashMapSteering(Scene scene) {
+            this.scene = scene;
+        }
+
+        void handleAIPlayerMovement(float deltaTime) {
+            List<GameObject> aiPlayers = scene.findByTag(GameLogic.AI_PLAYER_TAG);
+            UpdateLod lod = scene.getUpdateLod();
+
+            for (int i = 0; i < aiPlayers.size(); i++) {
+                GameObject aiPlayer = aiPlayers.get(i);
+                PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
+                if (physics == null) continue;
+                TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
+                UpdateLod.Level level = transform != null
+                    ? lod.levelOf(transform.getX(), transform.getY()) : UpdateLod.Level.EVERY_TICK;
+
+                SplittableRandom random = aiRandoms.get(aiPlayer);
+                if (random == null) {
+                    random = scene.getRandom().forEntity(aiPlayer.getId());
+                    aiRandoms.put(aiPlayer, random);
+                }
+
+                if (!aiTargetVelocities.containsKey(aiPlayer)) {
+                    aiTargetVelocities.put(aiPlayer, new Vector2(
+                        (random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150));
+                    aiTargetUpdateTimers.put(aiPlayer, 0f);
+                }
+
+                float timer = aiTargetUpdateTimers.get(aiPlayer) + deltaTime;
+                aiTargetUpdateTimers.put(aiPlayer, timer);
+                boolean due = lod.isDue(level, aiPlayer.getId());
+                lod.record(level, due);
+                if (!due) continue;
+
+                if (timer >= (2.0f + random.nextFloat() * 2.0f)) {
+                    aiTargetVelocities.put(aiPlayer, new Vector2(
+                        (random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150));
+                    aiTargetUpdateTimers.put(aiPlayer, 0f);
+                }
+
+                Vector2 targetVelocity = aiTargetVelocities.get(aiPlayer);
+                int ticks = lod.ticksPerUpdate(level);
+                float lerpFactor = ticks == 1 ? 0.1f : 1 - (float) Math.pow(0.9, ticks);
+                float velX = physics.getVelocityX();
+                float velY = physics.getVelocityY();
+                velX += (targetVelocity.x - velX) * lerpFactor;
+                velY += (targetVelocity.y - velY) * lerpFactor;
+                float speed = (float) Math.sqrt(velX * velX + velY * velY);
+                if (speed > 150f) {
+                    velX = velX / speed * 150f;
+                    velY = velY / speed * 150f;
+                }
+                physics.setVelocity(velX, velY);
+            }
+        }
+    }
+}
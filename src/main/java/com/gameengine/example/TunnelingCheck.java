@@ -0,0 +1,168 @@
+package com.gameengine.example;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+import com.gameengine.physics.Contact;
+import com.gameengine.scene.Scene;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 无窗口的穿透检查：在 dt=1/15 下让连续碰撞的高速子弹打薄目标，每一发都必须收到 ENTER。
+ * 三组场景：静止的薄墙；本身也是连续物体、与子弹路径在 tick 中途交叉的高速小目标
+ * （目标终点远在子弹扫掠圈之外，两种 ID 先后顺序都覆盖）；以及在子弹本步起点处新生成、
+ * 与子弹起点已经重叠的目标（圆和盒子各一半），子弹这一步结束时已离开它。
+ * 用法：TunnelingCheck [seed] [shots]
+ */
+public class TunnelingCheck {
+    private static final float DT = 1.0f / 15.0f;
+    private static final int BULLET_LAYER = 1;
+    private static final int TARGET_LAYER = 2;
+    private static final float SPACING = 1000f;
+    private static final int TICKS = 4;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 12345L;
+        int shots = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        int wallMisses = run(seed, shots, false);
+        System.out.printf("static walls: %d/%d missed%n", wallMisses, shots);
+        int crossingMisses = run(seed, shots, true);
+        System.out.printf("crossing continuous targets: %d/%d missed%n", crossingMisses, shots);
+        int overlapMisses = runStartOverlap(seed, shots);
+        System.out.printf("targets overlapping the sweep start: %d/%d missed%n", overlapMisses, shots);
+        System.exit(wallMisses == 0 && crossingMisses == 0 && overlapMisses == 0 ? 0 : 1);
+    }
+
+    private static int runStartOverlap(long seed, int shots) {
+        Scene scene = new Scene("TunnelingCheck");
+        SplittableRandom random = new SplittableRandom(seed);
+        GameObject[] bullets = new GameObject[shots];
+        boolean[] hit = new boolean[shots];
+        Map<GameObject, Integer> shotOf = new IdentityHashMap<>();
+        for (int i = 0; i < shots; i++) {
+            GameObject bullet = new GameObject("Bullet");
+            bullet.addComponent(new TransformComponent(new Vector2(100f, i * SPACING)));
+            bullet.addComponent(ColliderComponent.circle(3).setLayer(BULLET_LAYER).setMask(TARGET_LAYER).setContinuous(true));
+            scene.addGameObject(bullet);
+            bullets[i] = bullet;
+            shotOf.put(bullet, i);
+        }
+        scene.getCollisionSystem().addListener(ColliderComponent.ALL_LAYERS, (entered, stayed, exited) -> {
+            for (int c = 0; c < entered.size(); c++) {
+                Contact contact = entered.get(c);
+                Integer shot = shotOf.get(contact.getA());
+                if (shot == null) shot = shotOf.get(contact.getB());
+                if (shot != null) {
+                    hit[shot] = true;
+                }
+            }
+        });
+        scene.initialize();
+        // 记下扫掠起点
+        scene.update(DT);
+
+        for (int i = 0; i < shots; i++) {
+            // 目标生成在与子弹起点重叠的位置，子弹这一步移动 100~200 px，终点远离目标
+            GameObject target = new GameObject("Target");
+            float offset = random.nextFloat() * 4f;
+            target.addComponent(new TransformComponent(new Vector2(100f + offset, i * SPACING)));
+            ColliderComponent collider = i % 2 == 0 ? ColliderComponent.circle(6) : ColliderComponent.box(4, 120);
+            target.addComponent(collider.setLayer(TARGET_LAYER).setMask(BULLET_LAYER));
+            scene.addGameObject(target);
+            bullets[i].getComponent(TransformComponent.class).translate(100f + random.nextInt(100), 0);
+        }
+        scene.update(DT);
+
+        int misses = 0;
+        for (int i = 0; i < shots; i++) {
+            if (!hit[i]) misses++;
+        }
+        return misses;
+    }
+
+    private static int run(long seed, int shots, boolean crossing) {
+        Scene scene = new Scene("TunnelingCheck");
+        SplittableRandom random = new SplittableRandom(seed);
+        GameObject[] bullets = new GameObject[shots];
+        GameObject[] targets = new GameObject[shots];
+        float[] bulletVelocity = new float[shots];
+        float[] targetVelocity = new float[shots];
+        boolean[] hit = new boolean[shots];
+        Map<GameObject, Integer> shotOf = new IdentityHashMap<>();
+
+        for (int i = 0; i < shots; i++) {
+            float laneY = i * SPACING;
+            // 1500~3000 px/s，每 tick 100~200 px，远大于目标厚度
+            float speed = 1500f + random.nextInt(1500);
+            float step = speed * DT;
+            float impactX = 500f;
+            // 子弹在第二个移动 tick 内的随机时刻到达撞击点
+            float t = 0.05f + random.nextFloat() * 0.9f;
+            float startX = impactX - step * (1 + t);
+
+            GameObject bullet = new GameObject("Bullet");
+            bullet.addComponent(new TransformComponent(new Vector2(startX, laneY)));
+            bullet.addComponent(ColliderComponent.circle(3).setLayer(BULLET_LAYER).setMask(TARGET_LAYER).setContinuous(true));
+
+            GameObject target = new GameObject("Target");
+            if (crossing) {
+                // 目标沿 y 轴以三倍速度穿过子弹路径，与子弹同一时刻到达撞击点
+                float targetStep = step * 3;
+                target.addComponent(new TransformComponent(new Vector2(impactX, laneY - targetStep * (1 + t))));
+                target.addComponent(ColliderComponent.circle(2).setLayer(TARGET_LAYER).setMask(BULLET_LAYER).setContinuous(true));
+                targetVelocity[i] = targetStep / DT;
+            } else {
+                target.addComponent(new TransformComponent(new Vector2(impactX, laneY)));
+                target.addComponent(ColliderComponent.box(4, 120).setLayer(TARGET_LAYER).setMask(BULLET_LAYER));
+            }
+            bulletVelocity[i] = speed;
+
+            // 交替加入顺序，让子弹和目标各有一半是 ID 较小的一方
+            if (i % 2 == 0) {
+                scene.addGameObject(bullet);
+                scene.addGameObject(target);
+            } else {
+                scene.addGameObject(target);
+                scene.addGameObject(bullet);
+            }
+            bullets[i] = bullet;
+            targets[i] = target;
+            shotOf.put(bullet, i);
+        }
+
+        scene.getCollisionSystem().addListener(ColliderComponent.ALL_LAYERS, (entered, stayed, exited) -> {
+            for (int c = 0; c < entered.size(); c++) {
+                Contact contact = entered.get(c);
+                Integer shot = shotOf.get(contact.getA());
+                if (shot == null) shot = shotOf.get(contact.getB());
+                if (shot != null && contact.involves(targets[shot])) {
+                    hit[shot] = true;
+                }
+            }
+        });
+        scene.initialize();
+
+        // 第一次 update 记下扫掠起点，之后每 tick 整步移动
+        scene.update(DT);
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (int i = 0; i < shots; i++) {
+                bullets[i].getComponent(TransformComponent.class).translate(bulletVelocity[i] * DT, 0);
+                if (crossing) {
+                    targets[i].getComponent(TransformComponent.class).translate(0, targetVelocity[i] * DT);
+                }
+            }
+            scene.update(DT);
+        }
+
+        int misses = 0;
+        for (int i = 0; i < shots; i++) {
+            if (!hit[i]) misses++;
+        }
+        return misses;
+    }
+}
@@ -0,0 +1,130 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 变更跟踪开销基准：同一批对象上，一种直接调用 PhysicsSystem.integrateRange
+ * （经 TransformComponent 写位置，版本号加一、每帧首次写入时进入场景脏集合），
+ * 另一种按同样的积分和边界处理写到不做跟踪的普通位置组件。每个 tick 都包含 Scene.update，脏集合的清空也算在内。
+ * 用法：VersionTrackingBenchmark [sizes...]
+ */
+public class VersionTrackingBenchmark {
+    private static final float DT = 1.0f / 60.0f;
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final long BATCH_NANOS = 300_000_000L;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        // 第一遍只预热：单核机器上 JIT 编译线程会和测量抢 CPU，两条路径都编译稳定后再计时
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                System.out.printf("%8s %16s %16s %14s %10s%n", "bodies", "plain ms/tick", "tracked ms/tick", "ns/body extra", "overhead");
+            }
+            for (int size : sizes) {
+                measure(size, pass == 1);
+            }
+        }
+    }
+
+    private static void measure(int size, boolean print) {
+        Scene scene = populate(size);
+        List<PhysicsComponent> bodies = scene.getComponents(PhysicsComponent.class);
+        PhysicsSystem physics = new PhysicsSystem(scene, WIDTH, HEIGHT, 1);
+        // 交替测两轮各取最好，减少先后顺序带来的偏差
+        double plain = Double.MAX_VALUE;
+        double tracked = Double.MAX_VALUE;
+        try {
+            for (int round = 0; round < 2; round++) {
+                plain = Math.min(plain, BenchmarkTimer.nanosPerRun(() -> {
+                    scene.update(DT);
+                    integratePlain(bodies);
+                }, BATCH_NANOS));
+                tracked = Math.min(tracked, BenchmarkTimer.nanosPerRun(() -> {
+                    scene.update(DT);
+                    physics.integrateRange(bodies, 0, bodies.size(), DT);
+                }, BATCH_NANOS));
+            }
+        } finally {
+            physics.cleanup();
+        }
+        if (print) {
+            System.out.printf("%8d %16.3f %16.3f %14.2f %9.1f%%%n",
+                size, plain / 1e6, tracked / 1e6, (tracked - plain) / size, (tracked - plain) / plain * 100);
+        }
+    }
+
+    private static Scene populate(int count) {
+        Scene scene = new Scene("VersionTrackingBenchmark");
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            GameObject obj = new GameObject("Body");
+            float x = random.nextInt(WIDTH - 15);
+            float y = random.nextInt(HEIGHT - 15);
+            obj.addComponent(new TransformComponent(new Vector2(x, y)));
+            PhysicsComponent body = obj.addComponent(new PhysicsComponent(1f));
+            body.setVelocity(random.nextInt(200) - 100, random.nextInt(200) - 100);
+            obj.addComponent(new PlainPosition(x, y));
+            scene.addGameObject(obj);
+        }
+        scene.initialize();
+        return scene;
+    }
+
+    // 对照组：integrateRange 的积分和边界处理，位置写到不跟踪的组件
+    private static void integratePlain(List<PhysicsComponent> bodies) {
+        for (int i = 0; i < bodies.size(); i++) {
+            PhysicsComponent physics = bodies.get(i);
+            GameObject owner = physics.getOwner();
+            PlainPosition position = owner.getComponent(PlainPosition.class);
+            float friction = physics.getStepFriction(DT);
+            float velX = (physics.getVelocityX() + physics.getAccelerationX() * DT) * friction;
+            float velY = (physics.getVelocityY() + physics.getAccelerationY() * DT) * friction;
+            position.translate(velX * DT, velY * DT);
+            if (position.x <= 0 || position.x >= WIDTH - 15) velX = -velX;
+            if (position.y <= 0 || position.y >= HEIGHT - 15) velY = -velY;
+            physics.setVelocity(velX, velY);
+            physics.setAcceleration(0, 0);
+            position.x = Math.max(0, Math.min(WIDTH - 15, position.x));
+            position.y = Math.max(0, Math.min(HEIGHT - 15, position.y));
+        }
+    }
+
+    private static final class PlainPosition extends Component<PlainPosition> {
+        private float x;
+        private float y;
+
+        PlainPosition(float x, float y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void translate(float dx, float dy) {
+            x += dx;
+            y += dy;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void render() {
+        }
+    }
+}
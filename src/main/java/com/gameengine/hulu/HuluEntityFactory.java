@@ -1,5 +1,6 @@
 package com.gameengine.hulu;
 
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
@@ -11,12 +12,20 @@ import com.gameengine.hulu.scene.HuluMainScene;
 import com.gameengine.math.Vector2;
 
 public class HuluEntityFactory {
+    public static final String HULUWA_TAG = "Huluwa";
+    public static final String MONSTER_TAG = "Monster";
+    public static final String BULLET_TAG = "Bullet";
+    // 碰撞层位
+    public static final int HULUWA_LAYER = 1;
+    public static final int MONSTER_LAYER = 1 << 1;
+    public static final int BULLET_LAYER = 1 << 2;
     private static final float HULUWA_MELEE_RANGE = 80.0f;
     private static final float BULLET_SPEED = 600.0f;
     private static final float BULLET_SIZE = 10.0f;
 
     public static GameObject createHuluwa(HuluMainScene scene, Vector2 position) {
         GameObject huluwa = new GameObject("Huluwa");
+        huluwa.addTag(HULUWA_TAG);
         huluwa.addComponent(new TransformComponent(position));
         
         RenderComponent render = new RenderComponent(RenderComponent.RenderType.CIRCLE, new Vector2(30, 30), new RenderComponent.Color(0.0f, 1.0f, 0.0f, 1.0f));
@@ -26,14 +35,33 @@ public class HuluEntityFactory {
         PhysicsComponent physics = new PhysicsComponent();
         physics.setFriction(0.9f);
         huluwa.addComponent(physics);
+        huluwa.addComponent(ColliderComponent.circle(15).setLayer(HULUWA_LAYER).setMask(MONSTER_LAYER));
 
         huluwa.addComponent(new PlayerComponent(scene));
         return huluwa;
     }
 
     public static GameObject createMonster(HuluMainScene scene, Vector2 position) {
+        GameObject monster = scene.getMonsterPool().acquire();
+        monster.getComponent(TransformComponent.class).setPosition(position);
+        monster.getComponent(RenderComponent.class).setColor(1.0f, 0.0f, 1.0f, 1.0f);
+        return monster;
+    }
+
+    public static GameObject createBullet(HuluMainScene scene, Vector2 startPosition, Vector2 direction) {
+        GameObject bullet = scene.getBulletPool().acquire();
+        Vector2 offset = direction.normalize().multiply(15.0f);
+        bullet.getComponent(TransformComponent.class).setPosition(startPosition.add(offset));
+        bullet.getComponent(BulletComponent.class).setVelocity(direction.normalize().multiply(BULLET_SPEED));
+        return bullet;
+    }
+
+    // 对象池工厂：只搭好组件结构，位置/速度等在 create* 中按次设置
+    public static GameObject newMonster(HuluMainScene scene) {
         GameObject monster = new GameObject("Monster");
-        monster.addComponent(new TransformComponent(position));
+        monster.setPool(scene.getMonsterPool());
+        monster.addTag(MONSTER_TAG);
+        monster.addComponent(new TransformComponent());
 
         RenderComponent render = new RenderComponent(RenderComponent.RenderType.RECTANGLE, new Vector2(25, 25), new RenderComponent.Color(1.0f, 0.0f, 1.0f, 1.0f));
         render.setRenderer(scene.getRenderer());
@@ -42,22 +70,24 @@ public class HuluEntityFactory {
         PhysicsComponent physics = new PhysicsComponent(10.0f);
         physics.setFriction(0.5f);
         monster.addComponent(physics);
+        monster.addComponent(ColliderComponent.circle(12.5f).setLayer(MONSTER_LAYER).setMask(HULUWA_LAYER | BULLET_LAYER));
 
         monster.addComponent(new MonsterComponent(HULUWA_MELEE_RANGE * 0.9f, scene));
         return monster;
     }
 
-    public static GameObject createBullet(HuluMainScene scene, Vector2 startPosition, Vector2 direction) {
+    public static GameObject newBullet(HuluMainScene scene) {
         GameObject bullet = new GameObject("Bullet");
-        Vector2 offset = direction.normalize().multiply(15.0f);
-        bullet.addComponent(new TransformComponent(startPosition.add(offset)));
+        bullet.setPool(scene.getBulletPool());
+        bullet.addTag(BULLET_TAG);
+        bullet.addComponent(new TransformComponent());
 
         RenderComponent render = new RenderComponent(RenderComponent.RenderType.CIRCLE, new Vector2(BULLET_SIZE, BULLET_SIZE), new RenderComponent.Color(1.0f, 1.0f, 0.0f, 1.0f));
         render.setRenderer(scene.getRenderer());
         bullet.addComponent(render);
+        bullet.addComponent(ColliderComponent.circle(BULLET_SIZE / 2).setLayer(BULLET_LAYER).setMask(MONSTER_LAYER).setContinuous(true));
 
-        Vector2 velocity = direction.normalize().multiply(BULLET_SPEED);
-        bullet.addComponent(new BulletComponent(velocity, scene));
+        bullet.addComponent(new BulletComponent(new Vector2(), scene));
         return bullet;
     }
 }
@@ -1,20 +1,20 @@
 package com.gameengine.hulu.components;
 
-import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.core.Component;
 import com.gameengine.core.GameObject;
+import com.gameengine.hulu.HuluEntityFactory;
 import com.gameengine.hulu.scene.HuluMainScene;
 import com.gameengine.math.Vector2;
+import com.gameengine.physics.Contact;
 
 import java.util.List;
 
 public class BulletComponent extends Component<BulletComponent> {
     private static final int SCREEN_WIDTH = 800;
     private static final int SCREEN_HEIGHT = 600;
-    private static final float BULLET_SIZE = 10.0f;
 
-    private final Vector2 velocity;
+    private Vector2 velocity;
     private final HuluMainScene scene;
 
     public BulletComponent(Vector2 velocity, HuluMainScene scene) {
@@ -25,53 +25,60 @@ public class BulletComponent extends Component<BulletComponent> {
     @Override
     public void initialize() {}
 
+    @Override
+    public void reset() {
+        super.reset();
+        velocity = new Vector2();
+    }
+
+    public void setVelocity(Vector2 velocity) {
+        this.velocity = velocity;
+    }
+
     @Override
     public void update(float deltaTime) {
         TransformComponent transform = owner.getComponent(TransformComponent.class);
         if (transform == null) return;
 
         // 1. 移动子弹
-        Vector2 deltaMovement = velocity.multiply(deltaTime);
-        transform.translate(deltaMovement);
+        transform.translate(velocity.x * deltaTime, velocity.y * deltaTime);
 
-        // 2. 检查边界
-        Vector2 pos = transform.getPosition();
-        if (pos.x < 0 || pos.x > SCREEN_WIDTH || pos.y < 0 || pos.y > SCREEN_HEIGHT) {
+        // 2. 检查边界；与妖精的碰撞由碰撞系统在本 tick 末尾统一检测
+        float x = transform.getX();
+        float y = transform.getY();
+        if (x < 0 || x > SCREEN_WIDTH || y < 0 || y > SCREEN_HEIGHT) {
             owner.destroy();
-            return;
         }
+    }
 
-        // 3. 检查与妖精的碰撞
-        RenderComponent bulletRender = owner.getComponent(RenderComponent.class);
-        float bulletRadius = (bulletRender != null) ? bulletRender.getSize().x / 2 : BULLET_SIZE / 2;
-
-        List<MonsterComponent> monsters = scene.getComponents(MonsterComponent.class);
-        for (MonsterComponent monster : monsters) {
-            GameObject monsterOwner = monster.getOwner();
-            if (!monsterOwner.isActive()) continue;
-
-            TransformComponent monsterTransform = monsterOwner.getComponent(TransformComponent.class);
-            RenderComponent monsterRender = monsterOwner.getComponent(RenderComponent.class);
-
-            if (monsterTransform == null) continue;
-
-            float monsterRadius = (monsterRender != null) ? monsterRender.getSize().x / 2 : 0;
-            float distance = transform.getPosition().distance(monsterTransform.getPosition());
+    /** 子弹层的接触监听，由场景注册一次，每个 tick 批量结算新产生的命中。 */
+    public static void onContacts(List<Contact> entered, List<Contact> stayed, List<Contact> exited) {
+        for (int i = 0; i < entered.size(); i++) {
+            Contact contact = entered.get(i);
+            GameObject bullet = contact.inLayer(HuluEntityFactory.BULLET_LAYER);
+            GameObject monster = contact.other(bullet);
+            // 同一 tick 内子弹或妖精可能已被前面的接触消耗
+            if (!bullet.isActive() || !monster.isActive()) continue;
+            BulletComponent component = bullet.getComponent(BulletComponent.class);
+            if (component != null) {
+                component.hit(monster);
+            }
+        }
+    }
 
-            if (distance <= bulletRadius + monsterRadius) {
-                System.out.println("子弹命中妖精！");
-                owner.destroy();
-                monsterOwner.destroy();
+    private void hit(GameObject monster) {
+        if (scene.isEventLogEnabled()) {
+            System.out.println("子弹命中妖精！");
+        }
+        owner.destroy();
+        monster.destroy();
 
-                PlayerComponent huluwa = scene.getHuluwaPlayerComponent();
-                if (huluwa != null && huluwa.getHealth() <= 95) {
-                    huluwa.changeHealth(5);
-                }
-                scene.addScore(1);
-                scene.spawnMonster();
-                return;
-            }
+        PlayerComponent huluwa = scene.getHuluwaPlayerComponent();
+        if (huluwa != null && huluwa.getHealth() <= 95) {
+            huluwa.changeHealth(5);
         }
+        scene.addScore(1);
+        scene.spawnMonster();
     }
 
     @Override
@@ -1,14 +1,17 @@
 package com.gameengine.hulu.components;
 
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.core.Component;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.LodUpdate;
+import com.gameengine.core.ParallelUpdate;
 import com.gameengine.hulu.scene.HuluMainScene;
-import com.gameengine.math.Vector2;
+import com.gameengine.navigation.FlowField;
 
-public class MonsterComponent extends Component<MonsterComponent> {
+public class MonsterComponent extends Component<MonsterComponent> implements ParallelUpdate, LodUpdate {
     private static final float MONSTER_ATTACK_INTERVAL = 5.0f;
     private static final int MONSTER_DAMAGE = 10;
     private static final float MONSTER_SPEED = 50.0f;
@@ -25,6 +28,12 @@ public class MonsterComponent extends Component<MonsterComponent> {
     @Override
     public void initialize() {}
 
+    @Override
+    public void reset() {
+        super.reset();
+        attackTimer = 0.0f;
+    }
+
     @Override
     public void update(float deltaTime) {
         TransformComponent monsterTransform = owner.getComponent(TransformComponent.class);
@@ -38,16 +47,29 @@ public class MonsterComponent extends Component<MonsterComponent> {
         TransformComponent huluwaTransform = huluwaOwner.getComponent(TransformComponent.class);
         if (huluwaTransform == null) return;
 
-        Vector2 directionToPlayer = huluwaTransform.getPosition().subtract(monsterTransform.getPosition());
-        if (directionToPlayer.magnitude() > attackRange) {
-            monsterPhysics.setVelocity(directionToPlayer.normalize().multiply(MONSTER_SPEED));
+        float monsterX = monsterTransform.getX();
+        float monsterY = monsterTransform.getY();
+        float dx = huluwaTransform.getX() - monsterX;
+        float dy = huluwaTransform.getY() - monsterY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance > attackRange) {
+            // 沿流场走；已在目标格或流场给不出方向时直接朝葫芦娃
+            FlowField field = scene.getFlowField();
+            int cell = field.cellAt(monsterX, monsterY);
+            float dirX = field.getDirectionX(cell);
+            float dirY = field.getDirectionY(cell);
+            if (dirX == 0 && dirY == 0) {
+                dirX = dx / distance;
+                dirY = dy / distance;
+            }
+            monsterPhysics.setVelocity(dirX * MONSTER_SPEED, dirY * MONSTER_SPEED);
         } else {
-            monsterPhysics.setVelocity(new Vector2(0, 0));
+            monsterPhysics.setVelocity(0, 0);
         }
 
-        float distance = monsterTransform.getPosition().distance(huluwaTransform.getPosition());
         RenderComponent monsterRender = owner.getComponent(RenderComponent.class);
-        float monsterRadius = (monsterRender != null) ? monsterRender.getSize().x / 2 : 0;
+        ColliderComponent monsterCollider = owner.getComponent(ColliderComponent.class);
+        float monsterRadius = (monsterCollider != null) ? monsterCollider.getBoundingRadius() : 0;
 
         if (distance <= attackRange + monsterRadius) {
             attackTimer += deltaTime;
@@ -57,16 +79,8 @@ public class MonsterComponent extends Component<MonsterComponent> {
             }
 
             if (attackTimer >= MONSTER_ATTACK_INTERVAL) {
-                if (huluwa.isBlocking()) {
-                    System.out.println("妖精攻击！但葫芦娃格挡成功！");
-                } else {
-                    huluwa.changeHealth(-MONSTER_DAMAGE);
-                    System.out.println("妖精攻击！葫芦娃受到伤害，HP: " + huluwa.getHealth());
-                    if (huluwa.getHealth() <= 0) {
-                        System.out.println("游戏结束！葫芦娃被打败了。");
-                        scene.getEngine().stop();
-                    }
-                }
+                // 并行阶段不能直接改葫芦娃，结算延后到主线程
+                scene.defer(() -> attack(huluwa));
                 attackTimer = 0.0f;
             }
         } else {
@@ -77,6 +91,23 @@ public class MonsterComponent extends Component<MonsterComponent> {
         }
     }
 
+    private void attack(PlayerComponent huluwa) {
+        if (huluwa.isBlocking()) {
+            if (scene.isEventLogEnabled()) {
+                System.out.println("妖精攻击！但葫芦娃格挡成功！");
+            }
+            return;
+        }
+        huluwa.changeHealth(-MONSTER_DAMAGE);
+        if (scene.isEventLogEnabled()) {
+            System.out.println("妖精攻击！葫芦娃受到伤害，HP: " + huluwa.getHealth());
+        }
+        if (huluwa.getHealth() <= 0) {
+            System.out.println("游戏结束！葫芦娃被打败了。");
+            scene.getEngine().stop();
+        }
+    }
+
     @Override
     public void render() {}
 }
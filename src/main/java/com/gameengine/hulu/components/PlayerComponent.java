@@ -5,12 +5,13 @@ import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.core.Component;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.Tag;
 import com.gameengine.hulu.HuluEntityFactory;
 import com.gameengine.hulu.scene.HuluMainScene;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
 
-import java.util.List;
+import java.util.SplittableRandom;
 
 public class PlayerComponent extends Component<PlayerComponent> {
     private static final int SCREEN_WIDTH = 800;
@@ -19,11 +20,14 @@ public class PlayerComponent extends Component<PlayerComponent> {
     private static final float HULUWA_MELEE_RANGE = 80.0f;
     private static final float HULUWA_MELEE_COOLDOWN = 0.1f;
     private static final float HULUWA_SHOOT_COOLDOWN = 0.5f;
+    private static final long MONSTER_MASK = Tag.mask(HuluEntityFactory.MONSTER_TAG);
 
     private int health = 100;
     private float lastMeleeAttackTime = 0.0f;
     private float lastRangedAttackTime = 0.0f;
     private boolean isBlocking = false;
+    // 模拟用随机流，由场景种子和葫芦娃的实体 ID 决定，确定性模式下可复现
+    private SplittableRandom random;
     private final InputManager inputManager = InputManager.getInstance();
     private final HuluMainScene scene;
 
@@ -117,97 +121,53 @@ public class PlayerComponent extends Component<PlayerComponent> {
         TransformComponent huluwaTransform = owner.getComponent(TransformComponent.class);
         if (huluwaTransform == null) return false;
 
-        List<MonsterComponent> monsters = scene.getComponents(MonsterComponent.class);
-        Vector2 huluwaPos = huluwaTransform.getPosition();
-
-        for (MonsterComponent monster : monsters) {
-            GameObject monsterOwner = monster.getOwner();
-            if (!monsterOwner.isActive()) continue;
-
-            TransformComponent monsterTransform = monsterOwner.getComponent(TransformComponent.class);
-            RenderComponent monsterRender = monsterOwner.getComponent(RenderComponent.class);
-            if (monsterTransform == null) continue;
-
-            float monsterRadius = (monsterRender != null) ? monsterRender.getSize().x / 2 : 0;
-            float distance = huluwaPos.distance(monsterTransform.getPosition());
+        return findMonsterInMeleeRange(huluwaTransform) != null;
+    }
 
-            if (distance <= HULUWA_MELEE_RANGE + monsterRadius) {
-                return true;
-            }
-        }
-        return false;
+    private GameObject findMonsterInMeleeRange(TransformComponent huluwaTransform) {
+        return scene.getSpatialQuery().firstWithin(huluwaTransform.getX(), huluwaTransform.getY(),
+            HULUWA_MELEE_RANGE, MONSTER_MASK, null);
     }
 
     private Vector2 findNearestMonsterDirection() {
         TransformComponent huluwaTransform = owner.getComponent(TransformComponent.class);
         if (huluwaTransform == null) return null;
 
-        List<MonsterComponent> monsters = scene.getComponents(MonsterComponent.class);
-        Vector2 huluwaPos = huluwaTransform.getPosition();
-
-        float minDistanceSq = Float.MAX_VALUE;
-        Vector2 nearestMonsterPos = null;
-
-        for (MonsterComponent monster : monsters) {
-            GameObject monsterOwner = monster.getOwner();
-            if (!monsterOwner.isActive()) continue;
-
-            TransformComponent monsterTransform = monsterOwner.getComponent(TransformComponent.class);
-            if (monsterTransform == null) continue;
-
-            Vector2 monsterPos = monsterTransform.getPosition();
-            float distanceSq = (monsterPos.x - huluwaPos.x) * (monsterPos.x - huluwaPos.x) +
-                               (monsterPos.y - huluwaPos.y) * (monsterPos.y - huluwaPos.y);
-
-            if (distanceSq < minDistanceSq) {
-                minDistanceSq = distanceSq;
-                nearestMonsterPos = monsterPos;
-            }
-        }
+        float hx = huluwaTransform.getX();
+        float hy = huluwaTransform.getY();
+        GameObject monster = scene.getSpatialQuery().nearest(hx, hy, MONSTER_MASK, null);
+        if (monster == null) return null;
 
-        if (nearestMonsterPos != null) {
-            return nearestMonsterPos.subtract(huluwaPos);
-        }
-        return null;
+        TransformComponent monsterTransform = monster.getComponent(TransformComponent.class);
+        if (monsterTransform == null) return null;
+        return new Vector2(monsterTransform.getX() - hx, monsterTransform.getY() - hy);
     }
 
     private void performMeleeAttack() {
         TransformComponent huluwaTransform = owner.getComponent(TransformComponent.class);
         if (huluwaTransform == null) return;
 
-        List<MonsterComponent> monsters = scene.getComponents(MonsterComponent.class);
-        GameObject defeatedMonster = null;
-
-        for (MonsterComponent monster : monsters) {
-            GameObject monsterOwner = monster.getOwner();
-            if (!monsterOwner.isActive()) continue;
-
-            TransformComponent monsterTransform = monsterOwner.getComponent(TransformComponent.class);
-            if (monsterTransform == null) continue;
-
-            float distance = huluwaTransform.getPosition().distance(monsterTransform.getPosition());
-            RenderComponent monsterRender = monsterOwner.getComponent(RenderComponent.class);
-            float monsterRadius = (monsterRender != null) ? monsterRender.getSize().x / 2 : 0;
-
-            if (distance <= HULUWA_MELEE_RANGE + monsterRadius) {
-                System.out.println("葫芦娃近战攻击命中妖精！");
-                defeatedMonster = monsterOwner;
-                if (health <= 95) {
-                    this.changeHealth(5);
-                }
-                break;
-            }
-        }
-
+        GameObject defeatedMonster = findMonsterInMeleeRange(huluwaTransform);
         if (defeatedMonster != null) {
+            System.out.println("葫芦娃近战攻击命中妖精！");
+            if (health <= 95) {
+                this.changeHealth(5);
+            }
             defeatedMonster.destroy();
             scene.addScore(1);
-            if (Math.random() < 0.5) {
+            if (random().nextFloat() < 0.5f) {
                 scene.spawnMonster();
             }
         }
     }
 
+    private SplittableRandom random() {
+        if (random == null) {
+            random = scene.getRandom().forEntity(owner.getId());
+        }
+        return random;
+    }
+
     private void performRangedAttack(Vector2 direction) {
         TransformComponent huluwaTransform = owner.getComponent(TransformComponent.class);
         if (huluwaTransform == null) return;
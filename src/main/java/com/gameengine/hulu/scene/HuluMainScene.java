@@ -1,46 +1,85 @@
 package com.gameengine.hulu.scene;
 
+import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.ObjectPool;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.hulu.HuluEntityFactory;
+import com.gameengine.hulu.components.BulletComponent;
 import com.gameengine.hulu.components.MonsterComponent;
 import com.gameengine.hulu.components.PlayerComponent;
 import com.gameengine.math.Vector2;
+import com.gameengine.navigation.FlowField;
+import com.gameengine.physics.SpatialHash;
 import com.gameengine.scene.Scene;
 
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class HuluMainScene extends Scene {
     private static final int SCREEN_WIDTH = 800;
     private static final int SCREEN_HEIGHT = 600;
-    private static final int MAX_MONSTERS = 15;
+    // 正常游戏最多 15 只妖精；妖精沿共享流场追踪，单只的开销与数量无关，
+    // 压力测试可用 -Dhulu.maxMonsters=2000 -Dhulu.eventLog=false 提高上限并关掉逐事件日志
+    private static final int DEFAULT_MAX_MONSTERS = Integer.getInteger("hulu.maxMonsters", 15);
+    private static final boolean DEFAULT_EVENT_LOG = Boolean.parseBoolean(System.getProperty("hulu.eventLog", "true"));
+    private static final float FLOW_CELL_SIZE = 20f;
 
     private final IRenderer renderer;
     private final GameEngine engine;
-    private final Random random = new Random();
+    private SplittableRandom random;
+    private final ObjectPool<GameObject> bulletPool;
+    private final ObjectPool<GameObject> monsterPool;
+    private final FlowField flowField;
+    private GameObject huluwa;
+    private PlayerComponent huluwaPlayer;
     private float spawntime = 0.0f;
     private int score = 0;
+    private int maxMonsters = DEFAULT_MAX_MONSTERS;
+    private boolean eventLog = DEFAULT_EVENT_LOG;
 
     public HuluMainScene(String name, GameEngine engine) {
         super(name);
         this.engine = engine;
         this.renderer = engine.getRenderer();
+        this.bulletPool = new ObjectPool<>(() -> HuluEntityFactory.newBullet(this), 64);
+        this.monsterPool = new ObjectPool<>(() -> HuluEntityFactory.newMonster(this), 64);
+        this.flowField = new FlowField(SCREEN_WIDTH, SCREEN_HEIGHT, FLOW_CELL_SIZE);
     }
 
     public IRenderer getRenderer() { return renderer; }
+    public ObjectPool<GameObject> getBulletPool() { return bulletPool; }
+    public ObjectPool<GameObject> getMonsterPool() { return monsterPool; }
     public GameEngine getEngine() { return engine; }
+    public FlowField getFlowField() { return flowField; }
     public void addScore(int delta) {
         this.score += delta;
-        System.out.println("得分！当前得分: " + score);
+        if (eventLog) {
+            System.out.println("得分！当前得分: " + score);
+        }
     }
+    public int getMaxMonsters() { return maxMonsters; }
+    public void setMaxMonsters(int maxMonsters) { this.maxMonsters = maxMonsters; }
+    /** 命中、受击、得分等逐事件的控制台输出。 */
+    public boolean isEventLogEnabled() { return eventLog; }
+    public void setEventLogEnabled(boolean eventLog) { this.eventLog = eventLog; }
 
     @Override
     public void initialize() {
+        random = getRandom().forStream("HuluMainScene");
+        // 妖精与子弹尺寸相近，网格每 tick 全量重建仍比包围盒树的增量维护加查询快（见 BroadphaseBenchmark）
+        setSpatialIndex(new SpatialHash());
         Vector2 startPos = new Vector2(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2);
-        addGameObject(HuluEntityFactory.createHuluwa(this, startPos));
+        huluwa = HuluEntityFactory.createHuluwa(this, startPos);
+        huluwaPlayer = huluwa.getComponent(PlayerComponent.class);
+        addGameObject(huluwa);
+        // 妖精按与葫芦娃的距离降频追踪，降频部分每帧最多 1 ms
+        getUpdateLod().setFocus(huluwa);
+        getUpdateLod().setDistances(200f, 450f);
+        getUpdateLod().setFrameBudgetNanos(1_000_000);
         spawnMonster();
+        getCollisionSystem().addListener(HuluEntityFactory.BULLET_LAYER, BulletComponent::onContacts);
         super.initialize();
     }
 
@@ -57,10 +96,15 @@ public class HuluMainScene extends Scene {
         if (spawntime >= 2.0f) {
             spawntime = 0.0f;
             List<MonsterComponent> currentMonsters = getComponents(MonsterComponent.class);
-            if (currentMonsters.size() < MAX_MONSTERS) {
+            if (currentMonsters.size() < maxMonsters) {
                 spawnMonster();
             }
         }
+        // 葫芦娃换格时才重建，妖精在本帧更新中只做 O(1) 采样
+        TransformComponent huluwaTransform = huluwa.getComponent(TransformComponent.class);
+        if (huluwaTransform != null) {
+            flowField.setTarget(huluwaTransform.getX(), huluwaTransform.getY());
+        }
         super.update(deltaTime);
     }
 
@@ -90,7 +134,6 @@ public class HuluMainScene extends Scene {
     }
 
     public PlayerComponent getHuluwaPlayerComponent() {
-        List<PlayerComponent> players = getComponents(PlayerComponent.class);
-        return players.isEmpty() ? null : players.get(0);
+        return huluwaPlayer != null && huluwa.isActive() ? huluwaPlayer : null;
     }
 }
@@ -14,7 +14,11 @@ import com.gameengine.recording.RecordingStorage;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class HuluReplayScene extends Scene {
     private final GameEngine engine;
@@ -30,13 +34,16 @@ public class HuluReplayScene extends Scene {
             float w, h;
             float r=0.9f,g=0.9f,b=0.2f,a=1.0f; // 默认颜色
             String id;
+            String name;
+            String key; // 跨关键帧匹配用，见 RecordingJson.entityKey
         }
         double t;
         List<EntityInfo> entities = new ArrayList<>();
+        Map<String, EntityInfo> byKey = new HashMap<>();
     }
 
     private final List<Keyframe> keyframes = new ArrayList<>();
-    private final List<GameObject> objectList = new ArrayList<>();
+    private final Map<String, GameObject> objectsByKey = new HashMap<>();
 
     // 如果 path 为 null，则先展示 recordings 目录下的文件列表，供用户选择
     public HuluReplayScene(GameEngine engine, String path) {
@@ -53,7 +60,7 @@ public class HuluReplayScene extends Scene {
         // 重置状态
         this.time = 0f;
         this.keyframes.clear();
-        this.objectList.clear();
+        this.objectsByKey.clear();
         if (recordingPath != null) {
             loadRecording(recordingPath);
             buildObjectsFromFirstKeyframe();
@@ -128,9 +135,13 @@ public class HuluReplayScene extends Scene {
                         int bracket = line.indexOf('[', idx);
                         String arr = bracket >= 0 ? RecordingJson.extractArray(line, bracket) : "";
                         String[] parts = RecordingJson.splitTopLevel(arr);
+                        Map<String, Integer> seen = new HashMap<>();
                         for (String p : parts) {
                             Keyframe.EntityInfo ei = new Keyframe.EntityInfo();
                             ei.id = RecordingJson.stripQuotes(RecordingJson.field(p, "id"));
+                            String name = RecordingJson.stripQuotes(RecordingJson.field(p, "name"));
+                            ei.name = name != null ? name : ei.id;
+                            ei.key = RecordingJson.entityKey(ei.id, seen);
                             double x = RecordingJson.parseDouble(RecordingJson.field(p, "x"));
                             double y = RecordingJson.parseDouble(RecordingJson.field(p, "y"));
                             ei.pos = new Vector2((float)x, (float)y);
@@ -152,6 +163,18 @@ public class HuluReplayScene extends Scene {
                                 }
                             }
                             kf.entities.add(ei);
+                            kf.byKey.put(ei.key, ei);
+                        }
+                    }
+                    Keyframe prev = keyframes.isEmpty() ? null : keyframes.get(keyframes.size() - 1);
+                    if (prev != null && RecordingJson.isDeltaKeyframe(line)) {
+                        // 增量关键帧只含变化的实体，其余沿用上一关键帧
+                        Set<String> removed = RecordingJson.removedIds(line);
+                        for (Keyframe.EntityInfo old : prev.entities) {
+                            if (!kf.byKey.containsKey(old.key) && !removed.contains(old.key)) {
+                                kf.entities.add(old);
+                                kf.byKey.put(old.key, old);
+                            }
                         }
                     }
                     keyframes.add(kf);
@@ -166,45 +189,47 @@ public class HuluReplayScene extends Scene {
     private void buildObjectsFromFirstKeyframe() {
         if (keyframes.isEmpty()) return;
         Keyframe kf0 = keyframes.get(0);
-        objectList.clear();
+        objectsByKey.clear();
         clear();
         for (int i = 0; i < kf0.entities.size(); i++) {
-            GameObject obj = buildObjectFromEntity(kf0.entities.get(i), i);
+            Keyframe.EntityInfo ei = kf0.entities.get(i);
+            GameObject obj = buildObjectFromEntity(ei, i);
             addGameObject(obj);
-            objectList.add(obj);
+            objectsByKey.put(ei.key, obj);
         }
         time = 0f;
     }
 
-    private void ensureObjectCount(int n) {
-        while (objectList.size() < n) {
-            GameObject obj = new GameObject("RObj#" + objectList.size());
-            obj.addComponent(new TransformComponent(new Vector2(0, 0)));
-            addGameObject(obj);
-            objectList.add(obj);
-        }
-        while (objectList.size() > n) {
-            GameObject obj = objectList.remove(objectList.size() - 1);
-            obj.setActive(false);
-        }
-    }
-
+    // 按实体 key 配对相邻关键帧：a 中出现的实体才显示，b 中缺失则停在 a 的位置
     private void updateInterpolatedPositions(Keyframe a, Keyframe b, float u) {
-        int n = Math.min(a.entities.size(), b.entities.size());
-        ensureObjectCount(n);
-        for (int i = 0; i < n; i++) {
-            Vector2 pa = a.entities.get(i).pos;
-            Vector2 pb = b.entities.get(i).pos;
+        for (int i = 0; i < a.entities.size(); i++) {
+            Keyframe.EntityInfo ea = a.entities.get(i);
+            Keyframe.EntityInfo eb = b.byKey.get(ea.key);
+            Vector2 pa = ea.pos;
+            Vector2 pb = eb != null ? eb.pos : pa;
             float x = (float)((1.0 - u) * pa.x + u * pb.x);
             float y = (float)((1.0 - u) * pa.y + u * pb.y);
-            GameObject obj = objectList.get(i);
+            GameObject obj = objectsByKey.get(ea.key);
+            if (obj == null) {
+                obj = buildObjectFromEntity(ea, i);
+                addGameObject(obj);
+                objectsByKey.put(ea.key, obj);
+            }
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc != null) tc.setPosition(new Vector2(x, y));
         }
+        Iterator<Map.Entry<String, GameObject>> it = objectsByKey.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, GameObject> entry = it.next();
+            if (!a.byKey.containsKey(entry.getKey())) {
+                entry.getValue().setActive(false);
+                it.remove();
+            }
+        }
     }
 
     private GameObject buildObjectFromEntity(Keyframe.EntityInfo ei, int index) {
-        GameObject obj = new GameObject(ei.id == null ? ("Obj#"+index) : ei.id);
+        GameObject obj = new GameObject(ei.name == null ? ("Obj#"+index) : ei.name);
         obj.addComponent(new TransformComponent(new Vector2(ei.pos)));
         
         // 通用渲染组件重建
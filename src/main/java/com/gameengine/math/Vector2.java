@@ -34,6 +34,10 @@ public class Vector2 {
         return (float) Math.sqrt(x * x + y * y);
     }
     
+    public float magnitudeSquared() {
+        return x * x + y * y;
+    }
+    
     public Vector2 normalize() {
         float mag = magnitude();
         if (mag == 0) return new Vector2(0, 0);
@@ -45,7 +49,61 @@ public class Vector2 {
     }
     
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        return (float) Math.sqrt(distanceSquared(other));
+    }
+    
+    public float distanceSquared(Vector2 other) {
+        float dx = this.x - other.x;
+        float dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+    
+    // 以下 *Local 方法原地修改并返回 this，供热路径避免分配
+    
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        return set(other.x, other.y);
+    }
+    
+    public Vector2 addLocal(Vector2 other) {
+        return addLocal(other.x, other.y);
+    }
+    
+    public Vector2 addLocal(float x, float y) {
+        this.x += x;
+        this.y += y;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        this.x -= other.x;
+        this.y -= other.y;
+        return this;
+    }
+    
+    public Vector2 scaleLocal(float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+    
+    public Vector2 lerpLocal(Vector2 target, float t) {
+        this.x += (target.x - this.x) * t;
+        this.y += (target.y - this.y) * t;
+        return this;
+    }
+    
+    public Vector2 normalizeLocal() {
+        float mag = magnitude();
+        if (mag == 0) return set(0, 0);
+        this.x /= mag;
+        this.y /= mag;
+        return this;
     }
     
     @Override
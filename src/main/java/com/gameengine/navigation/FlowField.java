@@ -0,0 +1,185 @@
+package com.gameengine.navigation;
+
+import java.util.Arrays;
+
+/**
+ * 网格流场：从目标所在格子做 BFS 得到每格到目标的步数，再为每格记下指向更近邻格的单位方向。
+ * 目标换格或障碍变化时才重建；重建在主线程完成，之后可以在并行阶段并发读取。
+ * 8 邻接，斜向移动不允许切过被挡住的拐角。
+ */
+public final class FlowField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final float DIAGONAL = (float) (1 / Math.sqrt(2));
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final int columns;
+    private final int rows;
+    private final boolean[] blocked;
+    private final int[] distance;
+    private final float[] directionX;
+    private final float[] directionY;
+    private final int[] queue;
+    private int targetCell = -1;
+    private boolean dirty = true;
+    private int rebuildCount;
+
+    public FlowField(float width, float height, float cellSize) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        int cells = columns * rows;
+        this.blocked = new boolean[cells];
+        this.distance = new int[cells];
+        this.directionX = new float[cells];
+        this.directionY = new float[cells];
+        this.queue = new int[cells];
+        Arrays.fill(distance, UNREACHABLE);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /** 世界坐标所在的格子，超出范围的夹到边缘。 */
+    public int cellAt(float x, float y) {
+        int cx = Math.max(0, Math.min(columns - 1, (int) (x * inverseCellSize)));
+        int cy = Math.max(0, Math.min(rows - 1, (int) (y * inverseCellSize)));
+        return cy * columns + cx;
+    }
+
+    public void setBlocked(int cx, int cy, boolean value) {
+        if (cx < 0 || cy < 0 || cx >= columns || cy >= rows) return;
+        int cell = cy * columns + cx;
+        if (blocked[cell] != value) {
+            blocked[cell] = value;
+            dirty = true;
+        }
+    }
+
+    /** 把与矩形相交的格子标为障碍。 */
+    public void blockRect(float x, float y, float width, float height) {
+        int x0 = (int) Math.floor(x * inverseCellSize);
+        int y0 = (int) Math.floor(y * inverseCellSize);
+        int x1 = (int) Math.floor((x + width) * inverseCellSize);
+        int y1 = (int) Math.floor((y + height) * inverseCellSize);
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                setBlocked(cx, cy, true);
+            }
+        }
+    }
+
+    public boolean isBlocked(int cell) {
+        return blocked[cell];
+    }
+
+    /**
+     * 把目标设到世界坐标 (x, y)。目标仍在同一格且障碍没有变化时什么也不做。
+     * 返回是否重建了流场。
+     */
+    public boolean setTarget(float x, float y) {
+        int cell = cellAt(x, y);
+        if (cell == targetCell && !dirty) return false;
+        targetCell = cell;
+        dirty = false;
+        rebuild();
+        return true;
+    }
+
+    /** 到目标的 BFS 步数，不可达为 UNREACHABLE。 */
+    public int getDistance(int cell) {
+        return distance[cell];
+    }
+
+    /** 指向下一格的单位方向；目标格、障碍格和不可达格为 0，调用方应直接朝目标移动或停下。 */
+    public float getDirectionX(int cell) {
+        return directionX[cell];
+    }
+
+    public float getDirectionY(int cell) {
+        return directionY[cell];
+    }
+
+    public int getTargetCell() {
+        return targetCell;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    private void rebuild() {
+        rebuildCount++;
+        Arrays.fill(distance, UNREACHABLE);
+        if (!blocked[targetCell]) {
+            bfs();
+        }
+        buildDirections();
+    }
+
+    // 4 邻接的 BFS 计步；8 方向只在生成方向时使用
+    private void bfs() {
+        int head = 0;
+        int tail = 0;
+        distance[targetCell] = 0;
+        queue[tail++] = targetCell;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distance[cell] + 1;
+            int cx = cell % columns;
+            if (cx > 0) tail = visit(cell - 1, next, tail);
+            if (cx + 1 < columns) tail = visit(cell + 1, next, tail);
+            if (cell >= columns) tail = visit(cell - columns, next, tail);
+            if (cell + columns < distance.length) tail = visit(cell + columns, next, tail);
+        }
+    }
+
+    private int visit(int cell, int value, int tail) {
+        if (blocked[cell] || distance[cell] != UNREACHABLE) return tail;
+        distance[cell] = value;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    private void buildDirections() {
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < columns; cx++) {
+                int cell = cy * columns + cx;
+                directionX[cell] = 0;
+                directionY[cell] = 0;
+                int best = distance[cell];
+                if (best == UNREACHABLE || best == 0) continue;
+                int bestDx = 0;
+                int bestDy = 0;
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        if (dx == 0 && dy == 0) continue;
+                        int nx = cx + dx;
+                        int ny = cy + dy;
+                        if (nx < 0 || ny < 0 || nx >= columns || ny >= rows) continue;
+                        int d = distance[ny * columns + nx];
+                        if (d >= best) continue;
+                        // 斜向要求两条直边都通
+                        if (dx != 0 && dy != 0 && (blocked[cy * columns + nx] || blocked[ny * columns + cx])) continue;
+                        best = d;
+                        bestDx = dx;
+                        bestDy = dy;
+                    }
+                }
+                float scale = bestDx != 0 && bestDy != 0 ? DIAGONAL : 1f;
+                directionX[cell] = bestDx * scale;
+                directionY[cell] = bestDy * scale;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gameengine.physics;
+
+import java.util.List;
+
+/**
+ * 每个 tick 最多回调一次，按阶段分好批次；列表由 CollisionSystem 复用，只在回调期间有效。
+ * EXIT 批次里的对象可能已经销毁，处理前检查 isActive()。
+ */
+@FunctionalInterface
+public interface CollisionListener {
+    void onContacts(List<Contact> entered, List<Contact> stayed, List<Contact> exited);
+}
@@ -0,0 +1,470 @@
+package com.gameengine.physics;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.ObjectPool;
+import com.gameengine.scene.Scene;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 批量碰撞管线：每个 tick 由 Scene 调用一次 update，先用场景的宽相索引找候选对，按层过滤后做窄相，
+ * 标记为连续碰撞的物体用上次检测位置到当前位置的扫掠胶囊查询候选，并对候选做扫掠测试，
+ * 再与上一 tick 的接触集合（按 ID 对排序）归并出 ENTER / STAY / EXIT，最后按监听者的层过滤分批回调。
+ * 回调在主线程执行，可以直接销毁对象；稳态下不分配（接触对象池化，列表复用）。
+ */
+public class CollisionSystem {
+    private static final Comparator<Contact> BY_KEY = (x, y) -> Long.compare(x.key, y.key);
+
+    private final Scene scene;
+    private final ObjectPool<Contact> contactPool;
+    private final List<GameObject> bodies;
+    private final List<GameObject> candidates;
+    private List<Contact> previous;
+    private List<Contact> current;
+    private final List<Contact> entered;
+    private final List<Contact> stayed;
+    private final List<Contact> exited;
+    private final List<Subscription> subscriptions;
+    // 本 tick 碰撞体离索引快照位置（tick 开始时）最远的距离，连续物体还算上扫掠起点
+    private float maxDrift;
+
+    private static final class Subscription {
+        final int layers;
+        final CollisionListener listener;
+        final List<Contact> entered = new ArrayList<>();
+        final List<Contact> stayed = new ArrayList<>();
+        final List<Contact> exited = new ArrayList<>();
+
+        Subscription(int layers, CollisionListener listener) {
+            this.layers = layers;
+            this.listener = listener;
+        }
+    }
+
+    public CollisionSystem(Scene scene) {
+        this.scene = scene;
+        this.contactPool = new ObjectPool<>(Contact::new, 4096);
+        this.bodies = new ArrayList<>();
+        this.candidates = new ArrayList<>();
+        this.previous = new ArrayList<>();
+        this.current = new ArrayList<>();
+        this.entered = new ArrayList<>();
+        this.stayed = new ArrayList<>();
+        this.exited = new ArrayList<>();
+        this.subscriptions = new ArrayList<>();
+    }
+
+    /** 订阅至少一方层位与 layers 有交集的接触；ColliderComponent.ALL_LAYERS 表示全部。 */
+    public void addListener(int layers, CollisionListener listener) {
+        subscriptions.add(new Subscription(layers, listener));
+    }
+
+    public void removeListener(CollisionListener listener) {
+        subscriptions.removeIf(s -> s.listener == listener);
+    }
+
+    public void update(float deltaTime) {
+        collectBodies();
+        findContacts(scene.getSpatialIndex());
+        classify();
+        dispatch();
+        recycle();
+    }
+
+    private void collectBodies() {
+        bodies.clear();
+        maxDrift = 0;
+        List<ColliderComponent> colliders = scene.getComponents(ColliderComponent.class);
+        for (int i = 0; i < colliders.size(); i++) {
+            ColliderComponent collider = colliders.get(i);
+            GameObject owner = collider.getOwner();
+            if (collider.isEnabled() && owner != null && owner.isActive()) {
+                bodies.add(owner);
+                TransformComponent transform = owner.getComponent(TransformComponent.class);
+                if (transform == null) continue;
+                maxDrift = Math.max(maxDrift, distance(transform.getX(), transform.getY(),
+                    transform.getPreviousX(), transform.getPreviousY()));
+                if (collider.isContinuous() && collider.hasSweepOrigin()) {
+                    maxDrift = Math.max(maxDrift, distance(collider.getSweepOriginX(), collider.getSweepOriginY(),
+                        transform.getPreviousX(), transform.getPreviousY()));
+                }
+            }
+        }
+    }
+
+    private static float distance(float x0, float y0, float x1, float y1) {
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void findContacts(SpatialIndex broadphase) {
+        for (int i = 0; i < bodies.size(); i++) {
+            GameObject a = bodies.get(i);
+            ColliderComponent colliderA = a.getComponent(ColliderComponent.class);
+            TransformComponent transformA = a.getComponent(TransformComponent.class);
+            if (colliderA == null || transformA == null) continue;
+            float ax = transformA.getX();
+            float ay = transformA.getY();
+            boolean continuousA = colliderA.isContinuous();
+            // 索引里是对方 tick 开始时的位置，对方现在的位置和扫掠路径离它都不超过 maxDrift
+            float widen = maxDrift;
+
+            if (continuousA && colliderA.hasSweepOrigin()) {
+                // 用包住整段扫掠的圆查询，候选数量只取决于路径附近的物体
+                float sx = colliderA.getSweepOriginX();
+                float sy = colliderA.getSweepOriginY();
+                float halfX = (ax - sx) * 0.5f;
+                float halfY = (ay - sy) * 0.5f;
+                float reach = (float) Math.sqrt(halfX * halfX + halfY * halfY) + colliderA.getBoundingRadius();
+                broadphase.queryRadius(sx + halfX, sy + halfY, reach + widen, 0, candidates);
+            } else {
+                broadphase.queryRadius(ax, ay, colliderA.getBoundingRadius() + widen, 0, candidates);
+            }
+            for (int j = 0; j < candidates.size(); j++) {
+                GameObject b = candidates.get(j);
+                if (b == a) continue;
+                // 索引里还有不带碰撞体的对象
+                ColliderComponent colliderB = b.getComponent(ColliderComponent.class);
+                if (colliderB == null || !colliderB.isEnabled() || !colliderA.canCollide(colliderB)) continue;
+                // 每对只处理一次：有连续物体时由它负责（都连续则 ID 小的负责），否则由 ID 小的一方负责
+                boolean continuousB = colliderB.isContinuous();
+                if (continuousA != continuousB) {
+                    if (!continuousA) continue;
+                } else if (b.getId() <= a.getId()) {
+                    continue;
+                }
+                if (a.getId() < b.getId()) {
+                    testPair(a, colliderA, b, colliderB);
+                } else {
+                    testPair(b, colliderB, a, colliderA);
+                }
+            }
+        }
+        current.sort(BY_KEY);
+        for (int i = 0; i < bodies.size(); i++) {
+            GameObject body = bodies.get(i);
+            ColliderComponent collider = body.getComponent(ColliderComponent.class);
+            TransformComponent transform = body.getComponent(TransformComponent.class);
+            if (collider != null && transform != null && collider.isContinuous()) {
+                collider.setSweepOrigin(transform.getX(), transform.getY());
+            }
+        }
+    }
+
+    // a 的实体 ID 小于 b
+    private void testPair(GameObject a, ColliderComponent colliderA, GameObject b, ColliderComponent colliderB) {
+        TransformComponent transformA = a.getComponent(TransformComponent.class);
+        TransformComponent transformB = b.getComponent(TransformComponent.class);
+        if (transformA == null || transformB == null) return;
+        float ax = transformA.getX();
+        float ay = transformA.getY();
+        float bx = transformB.getX();
+        float by = transformB.getY();
+
+        Contact contact = contactPool.acquire();
+        boolean hit = overlap(colliderA, ax, ay, colliderB, bx, by, contact);
+        if (hit) {
+            contact.timeOfImpact = 1f;
+        } else if (colliderA.isContinuous() || colliderB.isContinuous()) {
+            float ax0 = colliderA.isContinuous() && colliderA.hasSweepOrigin() ? colliderA.getSweepOriginX() : ax;
+            float ay0 = colliderA.isContinuous() && colliderA.hasSweepOrigin() ? colliderA.getSweepOriginY() : ay;
+            float bx0 = colliderB.isContinuous() && colliderB.hasSweepOrigin() ? colliderB.getSweepOriginX() : bx;
+            float by0 = colliderB.isContinuous() && colliderB.hasSweepOrigin() ? colliderB.getSweepOriginY() : by;
+            hit = sweep(colliderA, ax0, ay0, ax - ax0, ay - ay0, colliderB, bx0, by0, bx - bx0, by - by0, contact);
+        }
+        if (hit) {
+            contact.a = a;
+            contact.b = b;
+            contact.colliderA = colliderA;
+            contact.colliderB = colliderB;
+            contact.key = Contact.keyOf(a.getId(), b.getId());
+            current.add(contact);
+        } else {
+            contactPool.release(contact);
+        }
+    }
+
+    // 两个有序列表归并：只在本 tick 出现的是 ENTER，两边都有的是 STAY，只在上一 tick 的是 EXIT
+    private void classify() {
+        entered.clear();
+        stayed.clear();
+        exited.clear();
+        int i = 0;
+        int j = 0;
+        while (i < current.size() || j < previous.size()) {
+            Contact now = i < current.size() ? current.get(i) : null;
+            Contact before = j < previous.size() ? previous.get(j) : null;
+            if (before == null || (now != null && now.key < before.key)) {
+                now.phase = Contact.Phase.ENTER;
+                entered.add(now);
+                wake(now.a);
+                wake(now.b);
+                i++;
+            } else if (now == null || before.key < now.key) {
+                before.phase = Contact.Phase.EXIT;
+                exited.add(before);
+                j++;
+            } else {
+                now.phase = Contact.Phase.STAY;
+                stayed.add(now);
+                contactPool.release(before);
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private static void wake(GameObject obj) {
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        if (physics != null) {
+            physics.wake();
+        }
+    }
+
+    private void dispatch() {
+        for (int s = 0; s < subscriptions.size(); s++) {
+            Subscription subscription = subscriptions.get(s);
+            filter(entered, subscription.layers, subscription.entered);
+            filter(stayed, subscription.layers, subscription.stayed);
+            filter(exited, subscription.layers, subscription.exited);
+            if (subscription.entered.isEmpty() && subscription.stayed.isEmpty() && subscription.exited.isEmpty()) {
+                continue;
+            }
+            subscription.listener.onContacts(subscription.entered, subscription.stayed, subscription.exited);
+        }
+    }
+
+    private static void filter(List<Contact> source, int layers, List<Contact> out) {
+        out.clear();
+        for (int i = 0; i < source.size(); i++) {
+            Contact contact = source.get(i);
+            if (layers == ColliderComponent.ALL_LAYERS || contact.inLayer(layers) != null) {
+                out.add(contact);
+            }
+        }
+    }
+
+    private void recycle() {
+        for (int i = 0; i < exited.size(); i++) {
+            contactPool.release(exited.get(i));
+        }
+        exited.clear();
+        for (int s = 0; s < subscriptions.size(); s++) {
+            subscriptions.get(s).exited.clear();
+        }
+        List<Contact> swap = previous;
+        previous = current;
+        current = swap;
+        current.clear();
+    }
+
+    /** 窄相：重叠时填好 contact 的法线（a 指向 b）和穿透深度。 */
+    static boolean overlap(ColliderComponent a, float ax, float ay, ColliderComponent b, float bx, float by, Contact out) {
+        boolean circleA = a.getShape() == ColliderComponent.Shape.CIRCLE;
+        boolean circleB = b.getShape() == ColliderComponent.Shape.CIRCLE;
+        if (circleA && circleB) {
+            return circleCircle(ax, ay, a.getRadius(), bx, by, b.getRadius(), out);
+        }
+        if (!circleA && !circleB) {
+            return boxBox(ax, ay, a.getHalfWidth(), a.getHalfHeight(), bx, by, b.getHalfWidth(), b.getHalfHeight(), out);
+        }
+        if (circleA) {
+            return circleBox(ax, ay, a.getRadius(), bx, by, b.getHalfWidth(), b.getHalfHeight(), out);
+        }
+        if (!circleBox(bx, by, b.getRadius(), ax, ay, a.getHalfWidth(), a.getHalfHeight(), out)) return false;
+        out.normalX = -out.normalX;
+        out.normalY = -out.normalY;
+        return true;
+    }
+
+    /**
+     * 扫掠测试：a、b 从起点各自匀速移动 (dax, day)、(dbx, dby)，求本步内最早接触时刻。
+     * 两个圆时精确求解；含盒子时把圆按外接正方形处理，对 Minkowski 和做射线-平板测试（偏保守）。
+     * 起点已经重叠时接触时刻为 0，法线按穿透较浅的方向取，与 overlap() 一致。
+     */
+    static boolean sweep(ColliderComponent a, float ax, float ay, float dax, float day,
+                         ColliderComponent b, float bx, float by, float dbx, float dby, Contact out) {
+        // 换到 b 静止的参考系：a 的中心相对 b 从 (px, py) 移动 (dx, dy)
+        float px = ax - bx;
+        float py = ay - by;
+        float dx = dax - dbx;
+        float dy = day - dby;
+        if (a.getShape() == ColliderComponent.Shape.CIRCLE && b.getShape() == ColliderComponent.Shape.CIRCLE) {
+            float r = a.getRadius() + b.getRadius();
+            float qa = dx * dx + dy * dy;
+            float qb = 2 * (px * dx + py * dy);
+            float qc = px * px + py * py - r * r;
+            if (qc <= 0) {
+                circleCircle(ax, ay, a.getRadius(), bx, by, b.getRadius(), out);
+                out.timeOfImpact = 0;
+                return true;
+            }
+            if (qa == 0) return false;
+            float disc = qb * qb - 4 * qa * qc;
+            if (disc < 0) return false;
+            float t = (-qb - (float) Math.sqrt(disc)) / (2 * qa);
+            if (t < 0 || t > 1) return false;
+            float hx = -(px + dx * t);
+            float hy = -(py + dy * t);
+            float len = (float) Math.sqrt(hx * hx + hy * hy);
+            out.normalX = len > 0 ? hx / len : 1;
+            out.normalY = len > 0 ? hy / len : 0;
+            out.depth = 0;
+            out.timeOfImpact = t;
+            return true;
+        }
+
+        float ex = extentX(a) + extentX(b);
+        float ey = extentY(a) + extentY(b);
+        if (Math.abs(px) <= ex && Math.abs(py) <= ey) {
+            // 法线从 a 指向 b，即 -p 的方向
+            float overlapX = ex - Math.abs(px);
+            float overlapY = ey - Math.abs(py);
+            if (overlapX < overlapY) {
+                out.normalX = px > 0 ? -1 : 1;
+                out.normalY = 0;
+                out.depth = overlapX;
+            } else {
+                out.normalX = 0;
+                out.normalY = py > 0 ? -1 : 1;
+                out.depth = overlapY;
+            }
+            out.timeOfImpact = 0;
+            return true;
+        }
+        float tEnter = 0;
+        float tExit = 1;
+        float nx = 0;
+        float ny = 0;
+        if (dx == 0) {
+            if (Math.abs(px) > ex) return false;
+        } else {
+            float t1 = (-ex - px) / dx;
+            float t2 = (ex - px) / dx;
+            float lo = Math.min(t1, t2);
+            if (lo > tEnter) {
+                tEnter = lo;
+                nx = dx > 0 ? 1 : -1;
+                ny = 0;
+            }
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (Math.abs(py) > ey) return false;
+        } else {
+            float t1 = (-ey - py) / dy;
+            float t2 = (ey - py) / dy;
+            float lo = Math.min(t1, t2);
+            if (lo > tEnter) {
+                tEnter = lo;
+                nx = 0;
+                ny = dy > 0 ? 1 : -1;
+            }
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (tEnter > tExit || (nx == 0 && ny == 0)) return false;
+        out.normalX = nx;
+        out.normalY = ny;
+        out.depth = 0;
+        out.timeOfImpact = tEnter;
+        return true;
+    }
+
+    private static float extentX(ColliderComponent collider) {
+        return collider.getShape() == ColliderComponent.Shape.CIRCLE ? collider.getRadius() : collider.getHalfWidth();
+    }
+
+    private static float extentY(ColliderComponent collider) {
+        return collider.getShape() == ColliderComponent.Shape.CIRCLE ? collider.getRadius() : collider.getHalfHeight();
+    }
+
+    private static boolean circleCircle(float ax, float ay, float ra, float bx, float by, float rb, Contact out) {
+        float dx = bx - ax;
+        float dy = by - ay;
+        float r = ra + rb;
+        float distSq = dx * dx + dy * dy;
+        if (distSq > r * r) return false;
+        float dist = (float) Math.sqrt(distSq);
+        if (dist > 0) {
+            out.normalX = dx / dist;
+            out.normalY = dy / dist;
+        } else {
+            out.normalX = 1;
+            out.normalY = 0;
+        }
+        out.depth = r - dist;
+        return true;
+    }
+
+    private static boolean boxBox(float ax, float ay, float ahw, float ahh, float bx, float by, float bhw, float bhh, Contact out) {
+        float dx = bx - ax;
+        float dy = by - ay;
+        float overlapX = ahw + bhw - Math.abs(dx);
+        float overlapY = ahh + bhh - Math.abs(dy);
+        if (overlapX < 0 || overlapY < 0) return false;
+        // 沿穿透较浅的轴分离
+        if (overlapX < overlapY) {
+            out.normalX = dx < 0 ? -1 : 1;
+            out.normalY = 0;
+            out.depth = overlapX;
+        } else {
+            out.normalX = 0;
+            out.normalY = dy < 0 ? -1 : 1;
+            out.depth = overlapY;
+        }
+        return true;
+    }
+
+    // 圆心到盒子最近点的距离与半径比较；圆心在盒内时沿最浅的边推出
+    private static boolean circleBox(float cx, float cy, float r, float bx, float by, float hw, float hh, Contact out) {
+        float px = Math.max(bx - hw, Math.min(cx, bx + hw));
+        float py = Math.max(by - hh, Math.min(cy, by + hh));
+        float dx = px - cx;
+        float dy = py - cy;
+        float distSq = dx * dx + dy * dy;
+        if (distSq > r * r) return false;
+        if (distSq > 0) {
+            float dist = (float) Math.sqrt(distSq);
+            out.normalX = dx / dist;
+            out.normalY = dy / dist;
+            out.depth = r - dist;
+            return true;
+        }
+        float relX = bx - cx;
+        float relY = by - cy;
+        float overlapX = hw - Math.abs(relX);
+        float overlapY = hh - Math.abs(relY);
+        if (overlapX < overlapY) {
+            out.normalX = relX < 0 ? -1 : 1;
+            out.normalY = 0;
+            out.depth = overlapX + r;
+        } else {
+            out.normalX = 0;
+            out.normalY = relY < 0 ? -1 : 1;
+            out.depth = overlapY + r;
+        }
+        return true;
+    }
+
+    /** 场景清空时调用：丢弃接触状态，不发 EXIT。 */
+    public void clear() {
+        for (int i = 0; i < previous.size(); i++) {
+            contactPool.release(previous.get(i));
+        }
+        previous.clear();
+        current.clear();
+        bodies.clear();
+        candidates.clear();
+    }
+
+    /** 上一 tick 结束时的接触数量。 */
+    public int getContactCount() {
+        return previous.size();
+    }
+}
@@ -0,0 +1,93 @@
+package com.gameengine.physics;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.Poolable;
+
+/**
+ * 一对碰撞体的接触。a 的实体 ID 小于 b；法线从 a 指向 b。
+ * 由 CollisionSystem 池化复用，只在监听回调期间有效，不要保存引用。
+ */
+public final class Contact implements Poolable {
+    public enum Phase {
+        ENTER,
+        STAY,
+        EXIT
+    }
+
+    GameObject a;
+    GameObject b;
+    ColliderComponent colliderA;
+    ColliderComponent colliderB;
+    long key;
+    Phase phase;
+    float normalX;
+    float normalY;
+    float depth;
+    float timeOfImpact;
+
+    static long keyOf(int idA, int idB) {
+        return ((long) idA << 32) | (idB & 0xFFFFFFFFL);
+    }
+
+    public GameObject getA() {
+        return a;
+    }
+
+    public GameObject getB() {
+        return b;
+    }
+
+    public ColliderComponent getColliderA() {
+        return colliderA;
+    }
+
+    public ColliderComponent getColliderB() {
+        return colliderB;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public float getNormalX() {
+        return normalX;
+    }
+
+    public float getNormalY() {
+        return normalY;
+    }
+
+    public float getDepth() {
+        return depth;
+    }
+
+    /** 本 tick 内首次接触的时刻（0..1）；离散检测到的接触为 1，扫掠检测到的为碰撞时刻。 */
+    public float getTimeOfImpact() {
+        return timeOfImpact;
+    }
+
+    public boolean involves(GameObject obj) {
+        return a == obj || b == obj;
+    }
+
+    public GameObject other(GameObject obj) {
+        return a == obj ? b : a;
+    }
+
+    /** 层位与 layerMask 有交集的一方；两方都有交集时返回 a，都没有返回 null。 */
+    public GameObject inLayer(int layerMask) {
+        if ((colliderA.getLayer() & layerMask) != 0) return a;
+        if ((colliderB.getLayer() & layerMask) != 0) return b;
+        return null;
+    }
+
+    @Override
+    public void reset() {
+        a = null;
+        b = null;
+        colliderA = null;
+        colliderB = null;
+        phase = null;
+    }
+}
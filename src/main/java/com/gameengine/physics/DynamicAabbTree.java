@@ -0,0 +1,580 @@
+package com.gameengine.physics;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 动态包围盒树：叶子保存外扩 margin 的"胖" AABB，对象移动后只要精确包围盒仍在胖盒内就不改树，
+ * 越界才删除并重新插入（按周长代价选兄弟，沿途旋转保持平衡）。
+ * 适合尺寸差异大或大片空白的场景；均匀分布、尺寸接近时 SpatialHash 更省。
+ * 与 SpatialHash 一样，查询只读可并发，但不能与 rebuild 并发。
+ */
+public final class DynamicAabbTree implements SpatialIndex {
+    public static final float DEFAULT_MARGIN = 8f;
+
+    private static final int NULL = -1;
+
+    private final float margin;
+
+    // 节点 SoA；空闲节点借用 parents 串成空闲链表
+    private float[] minXs = new float[64];
+    private float[] minYs = new float[64];
+    private float[] maxXs = new float[64];
+    private float[] maxYs = new float[64];
+    private int[] parents = new int[64];
+    private int[] child1s = new int[64];
+    private int[] child2s = new int[64];
+    private int[] heights = new int[64];
+    // 叶子的精确中心和半径，查询的最终判定用它们
+    private float[] xs = new float[64];
+    private float[] ys = new float[64];
+    private float[] radii = new float[64];
+    private int[] seen = new int[64];
+    private GameObject[] objects = new GameObject[64];
+
+    private int root = NULL;
+    private int freeList = NULL;
+    private int nodeCount;
+    private int epoch;
+
+    // 对象 -> 叶子：按身份哈希的开放寻址表，查找不装箱、不分配
+    private GameObject[] proxyKeys = new GameObject[128];
+    private int[] proxyLeaves = new int[128];
+    private int proxyCount;
+    private int[] leaves = new int[64];
+    private int[] leafSlots = new int[64];
+    private int leafCount;
+
+    private static final ThreadLocal<int[]> stackScratch = ThreadLocal.withInitial(() -> new int[64]);
+    private static final ThreadLocal<int[]> nearestScratch = ThreadLocal.withInitial(() -> new int[16]);
+
+    public DynamicAabbTree() {
+        this(DEFAULT_MARGIN);
+    }
+
+    public DynamicAabbTree(float margin) {
+        this.margin = margin;
+        Arrays.fill(parents, NULL);
+    }
+
+    @Override
+    public void rebuild(List<GameObject> source) {
+        epoch++;
+        for (int i = 0; i < source.size(); i++) {
+            GameObject obj = source.get(i);
+            if (!obj.isActive()) continue;
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            if (transform == null) continue;
+            // place 可能扩容 seen，先取叶子再写
+            int leaf = place(obj, transform);
+            seen[leaf] = epoch;
+        }
+        // 本轮没出现的对象（销毁、失活、移出场景）从树中删除
+        for (int i = leafCount - 1; i >= 0; i--) {
+            int leaf = leaves[i];
+            if (seen[leaf] != epoch) {
+                removeProxy(objects[leaf]);
+                destroyLeaf(leaf);
+            }
+        }
+    }
+
+    /**
+     * 只处理离开场景的对象和有变化（移动或新加入）的对象，其余叶子不动；
+     * 每 tick 的开销与变化的对象数成正比，而不是与索引中的对象总数成正比。
+     */
+    @Override
+    public boolean isIncremental() {
+        return true;
+    }
+
+    @Override
+    public void update(List<GameObject> source, List<GameObject> changed, List<GameObject> removed) {
+        for (int i = 0; i < removed.size(); i++) {
+            remove(removed.get(i));
+        }
+        for (int i = 0; i < changed.size(); i++) {
+            GameObject obj = changed.get(i);
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            if (!obj.isActive() || obj.getScene() == null || transform == null) {
+                remove(obj);
+            } else {
+                place(obj, transform);
+            }
+        }
+    }
+
+    // 新对象建叶子，已有的按当前位置移动；返回叶子节点
+    private int place(GameObject obj, TransformComponent transform) {
+        float x = transform.getX();
+        float y = transform.getY();
+        float r = SpatialBounds.radiusOf(obj);
+        int leaf = findProxy(obj);
+        if (leaf == NULL) {
+            leaf = createLeaf(obj, x, y, r);
+            putProxy(obj, leaf);
+        } else {
+            move(leaf, x, y, r);
+        }
+        return leaf;
+    }
+
+    private void remove(GameObject obj) {
+        int leaf = findProxy(obj);
+        if (leaf != NULL) {
+            removeProxy(obj);
+            destroyLeaf(leaf);
+        }
+    }
+
+    private static int proxySlot(GameObject obj, int mask) {
+        int h = System.identityHashCode(obj) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private int findProxy(GameObject obj) {
+        int mask = proxyKeys.length - 1;
+        for (int i = proxySlot(obj, mask); ; i = (i + 1) & mask) {
+            GameObject key = proxyKeys[i];
+            if (key == null) return NULL;
+            if (key == obj) return proxyLeaves[i];
+        }
+    }
+
+    private void putProxy(GameObject obj, int leaf) {
+        if ((proxyCount + 1) * 2 > proxyKeys.length) {
+            GameObject[] oldKeys = proxyKeys;
+            int[] oldLeaves = proxyLeaves;
+            proxyKeys = new GameObject[oldKeys.length * 2];
+            proxyLeaves = new int[oldKeys.length * 2];
+            proxyCount = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) putProxy(oldKeys[i], oldLeaves[i]);
+            }
+        }
+        int mask = proxyKeys.length - 1;
+        int i = proxySlot(obj, mask);
+        while (proxyKeys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        proxyKeys[i] = obj;
+        proxyLeaves[i] = leaf;
+        proxyCount++;
+    }
+
+    // 线性探测的删除：后面同一探测链上的键往前挪，不留墓碑
+    private void removeProxy(GameObject obj) {
+        int mask = proxyKeys.length - 1;
+        int i = proxySlot(obj, mask);
+        while (proxyKeys[i] != obj) {
+            if (proxyKeys[i] == null) return;
+            i = (i + 1) & mask;
+        }
+        proxyKeys[i] = null;
+        proxyCount--;
+        for (int j = (i + 1) & mask; proxyKeys[j] != null; j = (j + 1) & mask) {
+            int ideal = proxySlot(proxyKeys[j], mask);
+            // ideal 落在 (i, j] 之外说明它可以挪到空位 i
+            boolean stays = i <= j ? (ideal > i && ideal <= j) : (ideal > i || ideal <= j);
+            if (!stays) {
+                proxyKeys[i] = proxyKeys[j];
+                proxyLeaves[i] = proxyLeaves[j];
+                proxyKeys[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    private int createLeaf(GameObject obj, float x, float y, float r) {
+        int leaf = allocateNode();
+        objects[leaf] = obj;
+        setExact(leaf, x, y, r);
+        setFat(leaf, x, y, r);
+        heights[leaf] = 0;
+        if (leafCount == leaves.length) {
+            leaves = Arrays.copyOf(leaves, leafCount * 2);
+        }
+        leafSlots[leaf] = leafCount;
+        leaves[leafCount++] = leaf;
+        insertLeaf(leaf);
+        return leaf;
+    }
+
+    private void destroyLeaf(int leaf) {
+        removeLeaf(leaf);
+        int slot = leafSlots[leaf];
+        int last = leaves[--leafCount];
+        leaves[slot] = last;
+        leafSlots[last] = slot;
+        objects[leaf] = null;
+        freeNode(leaf);
+    }
+
+    private void move(int leaf, float x, float y, float r) {
+        setExact(leaf, x, y, r);
+        if (x - r >= minXs[leaf] && y - r >= minYs[leaf] && x + r <= maxXs[leaf] && y + r <= maxYs[leaf]) {
+            return;
+        }
+        removeLeaf(leaf);
+        setFat(leaf, x, y, r);
+        insertLeaf(leaf);
+    }
+
+    private void setExact(int leaf, float x, float y, float r) {
+        xs[leaf] = x;
+        ys[leaf] = y;
+        radii[leaf] = r;
+    }
+
+    private void setFat(int leaf, float x, float y, float r) {
+        float extent = r + margin;
+        minXs[leaf] = x - extent;
+        minYs[leaf] = y - extent;
+        maxXs[leaf] = x + extent;
+        maxYs[leaf] = y + extent;
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL) {
+            if (nodeCount == parents.length) {
+                grow(nodeCount * 2);
+            }
+            int node = nodeCount++;
+            resetNode(node);
+            return node;
+        }
+        int node = freeList;
+        freeList = parents[node];
+        resetNode(node);
+        return node;
+    }
+
+    private void resetNode(int node) {
+        parents[node] = NULL;
+        child1s[node] = NULL;
+        child2s[node] = NULL;
+        heights[node] = 0;
+    }
+
+    private void freeNode(int node) {
+        parents[node] = freeList;
+        heights[node] = -1;
+        freeList = node;
+    }
+
+    private void grow(int capacity) {
+        minXs = Arrays.copyOf(minXs, capacity);
+        minYs = Arrays.copyOf(minYs, capacity);
+        maxXs = Arrays.copyOf(maxXs, capacity);
+        maxYs = Arrays.copyOf(maxYs, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        child1s = Arrays.copyOf(child1s, capacity);
+        child2s = Arrays.copyOf(child2s, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        radii = Arrays.copyOf(radii, capacity);
+        seen = Arrays.copyOf(seen, capacity);
+        leafSlots = Arrays.copyOf(leafSlots, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+    }
+
+    private boolean isLeaf(int node) {
+        return child1s[node] == NULL;
+    }
+
+    private float perimeter(int node) {
+        return 2f * ((maxXs[node] - minXs[node]) + (maxYs[node] - minYs[node]));
+    }
+
+    private float combinedPerimeter(int a, int b) {
+        float w = Math.max(maxXs[a], maxXs[b]) - Math.min(minXs[a], minXs[b]);
+        float h = Math.max(maxYs[a], maxYs[b]) - Math.min(minYs[a], minYs[b]);
+        return 2f * (w + h);
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parents[leaf] = NULL;
+            return;
+        }
+
+        // 自顶向下按周长代价找最合适的兄弟节点
+        int index = root;
+        while (!isLeaf(index)) {
+            int child1 = child1s[index];
+            int child2 = child2s[index];
+            float area = perimeter(index);
+            float combined = combinedPerimeter(index, leaf);
+            float cost = 2f * combined;
+            float inheritance = 2f * (combined - area);
+            float cost1 = descendCost(child1, leaf, inheritance);
+            float cost2 = descendCost(child2, leaf, inheritance);
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2 ? child1 : child2;
+        }
+
+        int sibling = index;
+        int oldParent = parents[sibling];
+        int newParent = allocateNode();
+        parents[newParent] = oldParent;
+        union(newParent, leaf, sibling);
+        heights[newParent] = heights[sibling] + 1;
+        if (oldParent != NULL) {
+            if (child1s[oldParent] == sibling) {
+                child1s[oldParent] = newParent;
+            } else {
+                child2s[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1s[newParent] = sibling;
+        child2s[newParent] = leaf;
+        parents[sibling] = newParent;
+        parents[leaf] = newParent;
+
+        refit(parents[leaf]);
+    }
+
+    private float descendCost(int child, int leaf, float inheritance) {
+        float combined = combinedPerimeter(child, leaf);
+        if (isLeaf(child)) {
+            return combined + inheritance;
+        }
+        return combined - perimeter(child) + inheritance;
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+        int parent = parents[leaf];
+        int grandParent = parents[parent];
+        int sibling = child1s[parent] == leaf ? child2s[parent] : child1s[parent];
+        if (grandParent != NULL) {
+            if (child1s[grandParent] == parent) {
+                child1s[grandParent] = sibling;
+            } else {
+                child2s[grandParent] = sibling;
+            }
+            parents[sibling] = grandParent;
+            freeNode(parent);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parents[sibling] = NULL;
+            freeNode(parent);
+        }
+        parents[leaf] = NULL;
+    }
+
+    /** 从 index 向上重算包围盒和高度，沿途做旋转平衡。 */
+    private void refit(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int child1 = child1s[index];
+            int child2 = child2s[index];
+            heights[index] = 1 + Math.max(heights[child1], heights[child2]);
+            union(index, child1, child2);
+            index = parents[index];
+        }
+    }
+
+    private void union(int target, int a, int b) {
+        minXs[target] = Math.min(minXs[a], minXs[b]);
+        minYs[target] = Math.min(minYs[a], minYs[b]);
+        maxXs[target] = Math.max(maxXs[a], maxXs[b]);
+        maxYs[target] = Math.max(maxYs[a], maxYs[b]);
+    }
+
+    /** 子树高度差超过 1 时把较高的孩子提上来，返回该位置新的子树根。 */
+    private int balance(int a) {
+        if (isLeaf(a) || heights[a] < 2) return a;
+        int b = child1s[a];
+        int c = child2s[a];
+        int diff = heights[c] - heights[b];
+        if (diff > 1) return rotate(a, c, b, false);
+        if (diff < -1) return rotate(a, b, c, true);
+        return a;
+    }
+
+    // 把 a 的孩子 up 提升为子树根，a 变成 up 的孩子；upIsChild1 表示 up 原是 a 的 child1
+    private int rotate(int a, int up, int other, boolean upIsChild1) {
+        int f = child1s[up];
+        int g = child2s[up];
+
+        child1s[up] = a;
+        parents[up] = parents[a];
+        parents[a] = up;
+        int upParent = parents[up];
+        if (upParent != NULL) {
+            if (child1s[upParent] == a) {
+                child1s[upParent] = up;
+            } else {
+                child2s[upParent] = up;
+            }
+        } else {
+            root = up;
+        }
+
+        // 较高的孙子留在 up 下，较矮的挂回 a
+        int keep = heights[f] > heights[g] ? f : g;
+        int give = keep == f ? g : f;
+        child2s[up] = keep;
+        if (upIsChild1) {
+            child1s[a] = give;
+        } else {
+            child2s[a] = give;
+        }
+        parents[give] = a;
+        union(a, other, give);
+        heights[a] = 1 + Math.max(heights[other], heights[give]);
+        union(up, a, keep);
+        heights[up] = 1 + Math.max(heights[a], heights[keep]);
+        return up;
+    }
+
+    private int[] pushStack(int[] stack, int top) {
+        if (top < stack.length) return stack;
+        int[] grown = Arrays.copyOf(stack, stack.length * 2);
+        stackScratch.set(grown);
+        return grown;
+    }
+
+    @Override
+    public int queryRadius(float x, float y, float radius, long tagMask, List<GameObject> out) {
+        out.clear();
+        if (root == NULL) return 0;
+        int[] stack = stackScratch.get();
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (minXs[node] > x + radius || maxXs[node] < x - radius
+                    || minYs[node] > y + radius || maxYs[node] < y - radius) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                float dx = xs[node] - x;
+                float dy = ys[node] - y;
+                float r = radius + radii[node];
+                if (dx * dx + dy * dy <= r * r && SpatialBounds.accepts(objects[node], tagMask)) {
+                    out.add(objects[node]);
+                }
+                continue;
+            }
+            stack = pushStack(stack, top + 1);
+            stack[top++] = child1s[node];
+            stack[top++] = child2s[node];
+        }
+        return out.size();
+    }
+
+    @Override
+    public int queryAabb(float minX, float minY, float maxX, float maxY, long tagMask, List<GameObject> out) {
+        out.clear();
+        if (root == NULL) return 0;
+        int[] stack = stackScratch.get();
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (minXs[node] > maxX || maxXs[node] < minX || minYs[node] > maxY || maxYs[node] < minY) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                float r = radii[node];
+                if (xs[node] + r >= minX && xs[node] - r <= maxX && ys[node] + r >= minY && ys[node] - r <= maxY
+                        && SpatialBounds.accepts(objects[node], tagMask)) {
+                    out.add(objects[node]);
+                }
+                continue;
+            }
+            stack = pushStack(stack, top + 1);
+            stack[top++] = child1s[node];
+            stack[top++] = child2s[node];
+        }
+        return out.size();
+    }
+
+    @Override
+    public int queryNearest(float x, float y, int k, float maxRadius, long tagMask, List<GameObject> out) {
+        out.clear();
+        if (root == NULL || k <= 0) return 0;
+        int[] best = nearestScratch.get();
+        if (best.length < k) {
+            best = new int[Integer.highestOneBit(k) << 1];
+            nearestScratch.set(best);
+        }
+        int found = 0;
+        float maxDistSq = maxRadius * maxRadius;
+        int[] stack = stackScratch.get();
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            // 胖盒是叶子中心的保守包围，到盒子的距离不会超过到中心的距离
+            float bound = boxDistSq(node, x, y);
+            if (bound > maxDistSq) continue;
+            if (found == k && bound >= distSq(best[found - 1], x, y)) continue;
+            if (isLeaf(node)) {
+                float d = distSq(node, x, y);
+                if (d > maxDistSq || !SpatialBounds.accepts(objects[node], tagMask)) continue;
+                if (found == k && d >= distSq(best[found - 1], x, y)) continue;
+                int i = found == k ? k - 1 : found++;
+                while (i > 0 && distSq(best[i - 1], x, y) > d) {
+                    best[i] = best[i - 1];
+                    i--;
+                }
+                best[i] = node;
+                continue;
+            }
+            // 近的孩子后入栈先出栈，尽早收紧上界
+            int child1 = child1s[node];
+            int child2 = child2s[node];
+            stack = pushStack(stack, top + 1);
+            if (boxDistSq(child1, x, y) <= boxDistSq(child2, x, y)) {
+                stack[top++] = child2;
+                stack[top++] = child1;
+            } else {
+                stack[top++] = child1;
+                stack[top++] = child2;
+            }
+        }
+        for (int i = 0; i < found; i++) {
+            out.add(objects[best[i]]);
+        }
+        return found;
+    }
+
+    private float boxDistSq(int node, float x, float y) {
+        float dx = Math.max(0f, Math.max(minXs[node] - x, x - maxXs[node]));
+        float dy = Math.max(0f, Math.max(minYs[node] - y, y - maxYs[node]));
+        return dx * dx + dy * dy;
+    }
+
+    private float distSq(int leaf, float x, float y) {
+        float dx = xs[leaf] - x;
+        float dy = ys[leaf] - y;
+        return dx * dx + dy * dy;
+    }
+
+    @Override
+    public int size() {
+        return leafCount;
+    }
+
+    public int getHeight() {
+        return root == NULL ? 0 : heights[root];
+    }
+
+    public float getMargin() {
+        return margin;
+    }
+}
@@ -0,0 +1,21 @@
+package com.gameengine.physics;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.RenderComponent;
+import com.gameengine.core.GameObject;
+
+/** 索引条目的包围半径：有碰撞体取其外接圆半径，否则取渲染尺寸宽度的一半。 */
+final class SpatialBounds {
+    private SpatialBounds() {}
+
+    static float radiusOf(GameObject obj) {
+        ColliderComponent collider = obj.getComponent(ColliderComponent.class);
+        if (collider != null) return collider.getBoundingRadius();
+        RenderComponent render = obj.getComponent(RenderComponent.class);
+        return render != null ? render.getSize().x / 2 : 0f;
+    }
+
+    static boolean accepts(GameObject obj, long tagMask) {
+        return obj.isActive() && (tagMask == 0 || (obj.getTags() & tagMask) != 0);
+    }
+}
@@ -0,0 +1,246 @@
+package com.gameengine.physics;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 均匀网格空间哈希：条目按中心点落入边长 cellSize 的格子，格子坐标哈希到桶，桶内用 next 数组串成链表。
+ * 每个 tick 由 Scene 整体重建（O(n)，只写数组）；查询只遍历与范围相交的格子。
+ * 查询只读，可以多线程并发调用，但不能与 rebuild 并发。
+ */
+public final class SpatialHash implements SpatialIndex {
+    public static final float DEFAULT_CELL_SIZE = 64f;
+
+    private final float cellSize;
+    private final float invCellSize;
+
+    private int[] buckets = new int[64];
+    private int bucketMask = 63;
+
+    private int count;
+    private float[] xs = new float[64];
+    private float[] ys = new float[64];
+    private float[] radii = new float[64];
+    private int[] cellXs = new int[64];
+    private int[] cellYs = new int[64];
+    private int[] next = new int[64];
+    private GameObject[] objects = new GameObject[64];
+    private float maxRadius;
+    private int minCellX, minCellY, maxCellX, maxCellY;
+
+    // queryNearest 的候选下标，按线程复用
+    private static final ThreadLocal<int[]> nearestScratch = ThreadLocal.withInitial(() -> new int[16]);
+
+    public SpatialHash() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+    }
+
+    @Override
+    public void rebuild(List<GameObject> source) {
+        Arrays.fill(objects, 0, count, null);
+        count = 0;
+        maxRadius = 0;
+        minCellX = minCellY = Integer.MAX_VALUE;
+        maxCellX = maxCellY = Integer.MIN_VALUE;
+        for (int i = 0; i < source.size(); i++) {
+            GameObject obj = source.get(i);
+            if (!obj.isActive()) continue;
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            if (transform == null) continue;
+            add(obj, transform.getX(), transform.getY(), SpatialBounds.radiusOf(obj));
+        }
+
+        int tableSize = Integer.highestOneBit(Math.max(64, count * 2) - 1) << 1;
+        if (tableSize != buckets.length) {
+            buckets = new int[tableSize];
+            bucketMask = tableSize - 1;
+        }
+        Arrays.fill(buckets, -1);
+        for (int e = 0; e < count; e++) {
+            int b = bucket(cellXs[e], cellYs[e]);
+            next[e] = buckets[b];
+            buckets[b] = e;
+        }
+    }
+
+    private void add(GameObject obj, float x, float y, float radius) {
+        if (count == xs.length) {
+            int capacity = count * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            radii = Arrays.copyOf(radii, capacity);
+            cellXs = Arrays.copyOf(cellXs, capacity);
+            cellYs = Arrays.copyOf(cellYs, capacity);
+            next = Arrays.copyOf(next, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+        int cx = cell(x);
+        int cy = cell(y);
+        xs[count] = x;
+        ys[count] = y;
+        radii[count] = radius;
+        cellXs[count] = cx;
+        cellYs[count] = cy;
+        objects[count] = obj;
+        count++;
+        maxRadius = Math.max(maxRadius, radius);
+        minCellX = Math.min(minCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        maxCellX = Math.max(maxCellX, cx);
+        maxCellY = Math.max(maxCellY, cy);
+    }
+
+    @Override
+    public int queryRadius(float x, float y, float radius, long tagMask, List<GameObject> out) {
+        out.clear();
+        if (count == 0) return 0;
+        float reach = radius + maxRadius;
+        int x0 = Math.max(cell(x - reach), minCellX);
+        int x1 = Math.min(cell(x + reach), maxCellX);
+        int y0 = Math.max(cell(y - reach), minCellY);
+        int y1 = Math.min(cell(y + reach), maxCellY);
+        if (x0 > x1 || y0 > y1) return 0;
+
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) >= count) {
+            // 范围覆盖的格子比条目还多时直接线性扫描
+            for (int e = 0; e < count; e++) {
+                collectRadius(e, x, y, radius, tagMask, out);
+            }
+            return out.size();
+        }
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int e = buckets[bucket(cx, cy)]; e != -1; e = next[e]) {
+                    if (cellXs[e] == cx && cellYs[e] == cy) {
+                        collectRadius(e, x, y, radius, tagMask, out);
+                    }
+                }
+            }
+        }
+        return out.size();
+    }
+
+    private void collectRadius(int e, float x, float y, float radius, long tagMask, List<GameObject> out) {
+        float dx = xs[e] - x;
+        float dy = ys[e] - y;
+        float r = radius + radii[e];
+        if (dx * dx + dy * dy <= r * r && SpatialBounds.accepts(objects[e], tagMask)) {
+            out.add(objects[e]);
+        }
+    }
+
+    @Override
+    public int queryAabb(float minX, float minY, float maxX, float maxY, long tagMask, List<GameObject> out) {
+        out.clear();
+        if (count == 0) return 0;
+        int x0 = Math.max(cell(minX - maxRadius), minCellX);
+        int x1 = Math.min(cell(maxX + maxRadius), maxCellX);
+        int y0 = Math.max(cell(minY - maxRadius), minCellY);
+        int y1 = Math.min(cell(maxY + maxRadius), maxCellY);
+        if (x0 > x1 || y0 > y1) return 0;
+
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) >= count) {
+            for (int e = 0; e < count; e++) {
+                collectAabb(e, minX, minY, maxX, maxY, tagMask, out);
+            }
+            return out.size();
+        }
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int e = buckets[bucket(cx, cy)]; e != -1; e = next[e]) {
+                    if (cellXs[e] == cx && cellYs[e] == cy) {
+                        collectAabb(e, minX, minY, maxX, maxY, tagMask, out);
+                    }
+                }
+            }
+        }
+        return out.size();
+    }
+
+    private void collectAabb(int e, float minX, float minY, float maxX, float maxY, long tagMask, List<GameObject> out) {
+        float r = radii[e];
+        if (xs[e] + r >= minX && xs[e] - r <= maxX && ys[e] + r >= minY && ys[e] - r <= maxY
+                && SpatialBounds.accepts(objects[e], tagMask)) {
+            out.add(objects[e]);
+        }
+    }
+
+    @Override
+    public int queryNearest(float x, float y, int k, float maxRadius, long tagMask, List<GameObject> out) {
+        out.clear();
+        if (count == 0 || k <= 0) return 0;
+        int[] best = nearestScratch.get();
+        if (best.length < k) {
+            best = new int[Integer.highestOneBit(k) << 1];
+            nearestScratch.set(best);
+        }
+        int found = 0;
+        float maxDistSq = maxRadius * maxRadius;
+        int cx0 = cell(x);
+        int cy0 = cell(y);
+        int maxRing = Math.max(Math.max(cx0 - minCellX, maxCellX - cx0), Math.max(cy0 - minCellY, maxCellY - cy0));
+        maxRing = (int) Math.min(maxRing, Math.ceil((double) maxRadius * invCellSize) + 1);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // 第 ring 圈之外的条目距离至少 ring * cellSize，已满 k 个且都更近时停止
+            if (found == k) {
+                float bound = ring * cellSize - cellSize;
+                if (bound > 0 && distSq(best[found - 1], x, y) <= bound * bound) break;
+            }
+            for (int cy = cy0 - ring; cy <= cy0 + ring; cy++) {
+                boolean edgeRow = cy == cy0 - ring || cy == cy0 + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int cx = cx0 - ring; cx <= cx0 + ring; cx += Math.max(step, 1)) {
+                    for (int e = buckets[bucket(cx, cy)]; e != -1; e = next[e]) {
+                        if (cellXs[e] != cx || cellYs[e] != cy) continue;
+                        float d = distSq(e, x, y);
+                        if (d > maxDistSq || !SpatialBounds.accepts(objects[e], tagMask)) continue;
+                        if (found == k && d >= distSq(best[found - 1], x, y)) continue;
+                        // 插入排序，保留最近的 k 个
+                        int i = found == k ? k - 1 : found++;
+                        while (i > 0 && distSq(best[i - 1], x, y) > d) {
+                            best[i] = best[i - 1];
+                            i--;
+                        }
+                        best[i] = e;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < found; i++) {
+            out.add(objects[best[i]]);
+        }
+        return found;
+    }
+
+    private float distSq(int e, float x, float y) {
+        float dx = xs[e] - x;
+        float dy = ys[e] - y;
+        return dx * dx + dy * dy;
+    }
+
+    private int cell(float v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.gameengine.physics;
+
+import com.gameengine.core.GameObject;
+
+import java.util.List;
+
+/**
+ * 场景宽相（broadphase）查询接口。条目是对象中心点加包围半径，
+ * 查询结果写入调用方提供的列表（先清空），稳态下不分配；只返回仍处于活跃状态的对象。
+ * tagMask 为 0 表示不过滤，否则只返回标签与 mask 有交集的对象（见 Tag.mask）。
+ */
+public interface SpatialIndex {
+    /** 按对象当前位置全量重建索引；只收录活跃且带 TransformComponent 的对象。 */
+    void rebuild(List<GameObject> objects);
+
+    /**
+     * 增量更新：removed 中的对象从索引删除，changed 中的对象（新加入或有变化）按当前位置插入或移动。
+     * 两个列表都可能有重复或已离开场景的对象。默认实现退化为全量 rebuild。
+     */
+    default void update(List<GameObject> objects, List<GameObject> changed, List<GameObject> removed) {
+        rebuild(objects);
+    }
+
+    /** update 是否用到 changed/removed；为 false 时调用方不必收集这两个列表，直接 rebuild 即可。 */
+    default boolean isIncremental() {
+        return false;
+    }
+
+    /** 包围圆与查询圆相交的对象。 */
+    int queryRadius(float x, float y, float radius, long tagMask, List<GameObject> out);
+
+    /** 包围盒与查询矩形相交的对象。 */
+    int queryAabb(float minX, float minY, float maxX, float maxY, long tagMask, List<GameObject> out);
+
+    /** 中心距离不超过 maxRadius 的最近 k 个对象，按距离升序。 */
+    int queryNearest(float x, float y, int k, float maxRadius, long tagMask, List<GameObject> out);
+
+    int size();
+}
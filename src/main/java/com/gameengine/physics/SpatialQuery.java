@@ -0,0 +1,161 @@
+package com.gameengine.physics;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.scene.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 面向玩法的邻近查询，由场景的空间索引提供候选，再按对象当前位置精确判定。
+ * "在半径内"指对象的包围圆与查询圆相交（包围半径同 SpatialIndex）。
+ * tagMask 为 0 表示不按标签过滤；filter 可以为 null。稳态下每次查询不分配，
+ * 可在并行阶段调用，visitor 里也可以再发起查询。
+ */
+public final class SpatialQuery {
+    private static final int MAX_NESTING = 8;
+    // 索引位置落后当前位置的容差：一个 tick 内移动不超过这个距离的对象，nearest 的排名是准确的
+    private static final float STALE_SLACK = 64f;
+
+    private final Scene scene;
+    // 每个线程一组候选缓冲，按嵌套深度取用
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public SpatialQuery(Scene scene) {
+        this.scene = scene;
+    }
+
+    private static final class Scratch {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final List<GameObject>[] lists = new List[MAX_NESTING];
+        int depth;
+
+        List<GameObject> acquire() {
+            if (depth == MAX_NESTING) {
+                throw new IllegalStateException("SpatialQuery nested more than " + MAX_NESTING + " levels");
+            }
+            List<GameObject> list = lists[depth];
+            if (list == null) {
+                list = new ArrayList<>();
+                lists[depth] = list;
+            }
+            depth++;
+            return list;
+        }
+
+        void release(List<GameObject> list) {
+            list.clear();
+            depth--;
+        }
+    }
+
+    public GameObject nearest(float x, float y, long tagMask, Predicate<? super GameObject> filter) {
+        return nearest(x, y, Float.MAX_VALUE, tagMask, filter);
+    }
+
+    /**
+     * 按当前位置计算，中心距离不超过 maxRadius 且通过 filter 的最近对象。
+     * 先按索引距离逐步扩大候选数找到一个可用对象，再在它的当前距离外扩 STALE_SLACK 的范围内重新排名。
+     */
+    public GameObject nearest(float x, float y, float maxRadius, long tagMask, Predicate<? super GameObject> filter) {
+        SpatialIndex index = scene.getSpatialIndex();
+        Scratch s = scratch.get();
+        List<GameObject> candidates = s.acquire();
+        try {
+            float maxRadiusSq = maxRadius * maxRadius;
+            GameObject best = null;
+            float bestSq = Float.POSITIVE_INFINITY;
+            int k = 1;
+            while (best == null) {
+                int found = index.queryNearest(x, y, k, maxRadius + STALE_SLACK, tagMask, candidates);
+                for (int i = 0; i < found; i++) {
+                    GameObject obj = candidates.get(i);
+                    float distSq = currentDistanceSq(obj, x, y);
+                    if (distSq < bestSq && distSq <= maxRadiusSq && (filter == null || filter.test(obj))) {
+                        best = obj;
+                        bestSq = distSq;
+                    }
+                }
+                if (best != null) break;
+                if (found < k || k >= index.size()) return null;
+                k = Math.min(k * 8, index.size());
+            }
+            index.queryRadius(x, y, (float) Math.sqrt(bestSq) + STALE_SLACK, tagMask, candidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                GameObject obj = candidates.get(i);
+                if (obj == best) continue;
+                float distSq = currentDistanceSq(obj, x, y);
+                if (distSq < bestSq && distSq <= maxRadiusSq && (filter == null || filter.test(obj))) {
+                    best = obj;
+                    bestSq = distSq;
+                }
+            }
+            return best;
+        } finally {
+            s.release(candidates);
+        }
+    }
+
+    public boolean anyWithin(float x, float y, float radius, long tagMask, Predicate<? super GameObject> filter) {
+        return firstWithin(x, y, radius, tagMask, filter) != null;
+    }
+
+    /** 任意一个在半径内且通过 filter 的对象，按索引给出的顺序取第一个。 */
+    public GameObject firstWithin(float x, float y, float radius, long tagMask, Predicate<? super GameObject> filter) {
+        Scratch s = scratch.get();
+        List<GameObject> candidates = s.acquire();
+        try {
+            scene.getSpatialIndex().queryRadius(x, y, radius, tagMask, candidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                GameObject obj = candidates.get(i);
+                if (overlaps(obj, x, y, radius) && (filter == null || filter.test(obj))) return obj;
+            }
+            return null;
+        } finally {
+            s.release(candidates);
+        }
+    }
+
+    /** 对半径内的每个对象调用 visitor，返回访问的个数。 */
+    public int forEachWithin(float x, float y, float radius, long tagMask, Consumer<? super GameObject> visitor) {
+        Scratch s = scratch.get();
+        List<GameObject> candidates = s.acquire();
+        try {
+            scene.getSpatialIndex().queryRadius(x, y, radius, tagMask, candidates);
+            int visited = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                GameObject obj = candidates.get(i);
+                if (!overlaps(obj, x, y, radius)) continue;
+                visitor.accept(obj);
+                visited++;
+            }
+            return visited;
+        } finally {
+            s.release(candidates);
+        }
+    }
+
+    // 失活或没有位置的对象视为无限远
+    private static float currentDistanceSq(GameObject obj, float x, float y) {
+        if (!obj.isActive()) return Float.POSITIVE_INFINITY;
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform == null) return Float.POSITIVE_INFINITY;
+        float dx = transform.getX() - x;
+        float dy = transform.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    // 索引里是 tick 开始时的位置，这里用当前位置复核
+    private static boolean overlaps(GameObject obj, float x, float y, float radius) {
+        if (!obj.isActive()) return false;
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform == null) return false;
+        float dx = transform.getX() - x;
+        float dy = transform.getY() - y;
+        float reach = radius + SpatialBounds.radiusOf(obj);
+        return dx * dx + dy * dy <= reach * reach;
+    }
+}
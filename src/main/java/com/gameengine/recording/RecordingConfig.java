@@ -7,6 +7,8 @@ public class RecordingConfig {
     public float positionThreshold = 0.5f; // pixels
     public int quantizeDecimals = 2;
     public int queueCapacity = 2048;
+    // 每隔多少个关键帧写一次完整关键帧，其余只写变化的实体；<= 1 表示总是完整写
+    public int fullKeyframeInterval = 10;
 
     public RecordingConfig(String outputPath) {
         this.outputPath = outputPath;
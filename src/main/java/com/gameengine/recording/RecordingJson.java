@@ -1,7 +1,10 @@
 package com.gameengine.recording;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public final class RecordingJson {
     private RecordingJson() {}
@@ -33,6 +36,34 @@ public final class RecordingJson {
         try { return Double.parseDouble(stripQuotes(s)); } catch (Exception e) { return 0.0; }
     }
 
+    /**
+     * 关键帧实体的匹配键。version 2 起 id 是场景分配的唯一实体 ID；
+     * 旧录制里 id 是对象名，同名实体按出现次序追加 "#n" 区分。
+     */
+    public static String entityKey(String id, Map<String, Integer> seen) {
+        if (id == null) id = "";
+        int n = seen.merge(id, 1, Integer::sum) - 1;
+        return n == 0 ? id : id + "#" + n;
+    }
+
+    /** version 3 的增量关键帧；没有 "full" 字段的旧录制都是完整关键帧。 */
+    public static boolean isDeltaKeyframe(String line) {
+        return "false".equals(field(line, "full"));
+    }
+
+    /** 增量关键帧中已离开场景的实体 ID。 */
+    public static Set<String> removedIds(String line) {
+        Set<String> out = new HashSet<>();
+        int i = line.indexOf("\"removed\":[");
+        if (i < 0) return out;
+        String arr = extractArray(line, line.indexOf('[', i));
+        for (String s : arr.split(",")) {
+            s = stripQuotes(s);
+            if (!s.isEmpty()) out.add(s);
+        }
+        return out;
+    }
+
     public static String[] splitTopLevel(String arr) {
         List<String> out = new ArrayList<>();
         int depth = 0; int start = 0;
@@ -7,7 +7,9 @@ import com.gameengine.scene.Scene;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -24,6 +26,10 @@ public class RecordingService {
     private final double warmupSec = 0.1; // 等待一帧让场景对象完成初始化
     private final DecimalFormat qfmt;
     private Scene lastScene;
+    // 增量关键帧：实体 ID -> 上次写出时的组件版本和
+    private Map<Integer, Integer> writtenVersions = new HashMap<>();
+    private Scene writtenScene;
+    private int keyframesSinceFull;
 
     public RecordingService(RecordingConfig config) {
         this.config = config;
@@ -64,8 +70,10 @@ public class RecordingService {
         writerThread.start();
 
         // header
-        enqueue("{\"type\":\"header\",\"version\":1,\"w\":" + width + ",\"h\":" + height + "}");
+        enqueue("{\"type\":\"header\",\"version\":3,\"w\":" + width + ",\"h\":" + height + "}");
         keyframeElapsed = 0.0;
+        writtenVersions.clear();
+        writtenScene = null;
     }
 
     public void stop() {
@@ -111,25 +119,40 @@ public class RecordingService {
         }
     }
 
+    /**
+     * 完整关键帧写出全部实体；增量关键帧（"full":false）只写组件版本变化过的实体，
+     * 上一关键帧有而本帧没有的实体列入 "removed"，回放加载时据此还原完整状态。
+     */
     private boolean writeKeyframe(Scene scene) {
+        boolean full = scene != writtenScene || config.fullKeyframeInterval <= 1
+            || keyframesSinceFull >= config.fullKeyframeInterval - 1;
+        Map<Integer, Integer> versions = new HashMap<>();
         StringBuilder sb = new StringBuilder();
-        sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(elapsed)).append(",\"entities\":[");
-        List<GameObject> objs = scene.getGameObjects();
+        sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(elapsed))
+          .append(",\"full\":").append(full).append(",\"entities\":[");
+        List<GameObject> objs = scene.getGameObjectsView();
         boolean first = true;
         int count = 0;
         for (GameObject obj : objs) {
+            if (!obj.isActive()) continue;
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc == null) continue;
+            com.gameengine.components.RenderComponent rc = obj.getComponent(com.gameengine.components.RenderComponent.class);
+            int version = tc.getVersion() + (rc != null ? rc.getVersion() : 0);
+            versions.put(obj.getId(), version);
+            count++;
+            Integer written = writtenVersions.get(obj.getId());
+            if (!full && written != null && written == version) continue;
             float x = tc.getPosition().x;
             float y = tc.getPosition().y;
             if (!first) sb.append(',');
             sb.append('{')
-              .append("\"id\":\"").append(obj.getName()).append("\",")
+              .append("\"id\":").append(obj.getId()).append(',')
+              .append("\"name\":\"").append(obj.getName()).append("\",")
               .append("\"x\":").append(qfmt.format(x)).append(',')
               .append("\"y\":").append(qfmt.format(y));
 
             // 可选渲染信息（若对象带有 RenderComponent，则记录形状、尺寸、颜色）
-            com.gameengine.components.RenderComponent rc = obj.getComponent(com.gameengine.components.RenderComponent.class);
             if (rc != null) {
                 com.gameengine.components.RenderComponent.RenderType rt = rc.getRenderType();
                 com.gameengine.math.Vector2 sz = rc.getSize();
@@ -150,11 +173,25 @@ public class RecordingService {
 
             sb.append('}');
             first = false;
-            count++;
         }
-        sb.append("]}");
+        sb.append(']');
         if (count == 0) return false;
+        if (!full) {
+            sb.append(",\"removed\":[");
+            boolean firstRemoved = true;
+            for (Integer id : writtenVersions.keySet()) {
+                if (versions.containsKey(id)) continue;
+                if (!firstRemoved) sb.append(',');
+                sb.append(id);
+                firstRemoved = false;
+            }
+            sb.append(']');
+        }
+        sb.append('}');
         enqueue(sb.toString());
+        writtenVersions = versions;
+        writtenScene = scene;
+        keyframesSinceFull = full ? 0 : keyframesSinceFull + 1;
         return true;
     }
 
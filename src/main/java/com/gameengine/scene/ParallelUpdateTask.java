@@ -0,0 +1,61 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/** 把 ParallelUpdate 组件列表递归二分，小于阈值的区间串行更新；deltaTimes 非空时按下标取各自的步长。 */
+class ParallelUpdateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    static final int SERIAL_THRESHOLD = 256;
+    // 当前线程正在更新的组件在列表中的下标，Scene.defer 用它给延后操作排序
+    private static final ThreadLocal<int[]> currentIndex = ThreadLocal.withInitial(() -> new int[] {-1});
+
+    private final List<Component<?>> components;
+    private final float[] deltaTimes;
+    private final int start;
+    private final int end;
+    private final float deltaTime;
+
+    ParallelUpdateTask(List<Component<?>> components, float[] deltaTimes, int start, int end, float deltaTime) {
+        this.components = components;
+        this.deltaTimes = deltaTimes;
+        this.start = start;
+        this.end = end;
+        this.deltaTime = deltaTime;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start <= SERIAL_THRESHOLD) {
+            updateRange(components, deltaTimes, start, end, deltaTime);
+            return;
+        }
+        int mid = (start + end) >>> 1;
+        invokeAll(new ParallelUpdateTask(components, deltaTimes, start, mid, deltaTime),
+                  new ParallelUpdateTask(components, deltaTimes, mid, end, deltaTime));
+    }
+
+    static void updateRange(List<Component<?>> components, float[] deltaTimes, int start, int end, float deltaTime) {
+        int[] current = currentIndex.get();
+        try {
+            for (int i = start; i < end; i++) {
+                Component<?> component = components.get(i);
+                GameObject owner = component.getOwner();
+                if (component.isEnabled() && owner != null && owner.isActive()) {
+                    current[0] = i;
+                    component.update(deltaTimes != null ? deltaTimes[i] : deltaTime);
+                }
+            }
+        } finally {
+            current[0] = -1;
+        }
+    }
+
+    /** 在并行阶段内返回当前组件的下标，否则返回 -1。 */
+    static int currentIndex() {
+        return currentIndex.get()[0];
+    }
+}
@@ -1,22 +1,96 @@
 package com.gameengine.scene;
 
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.ArchetypeStorage;
 import com.gameengine.core.GameObject;
 import com.gameengine.core.Component;
+import com.gameengine.core.ComponentType;
+import com.gameengine.core.EntityIdAllocator;
+import com.gameengine.core.LodUpdate;
+import com.gameengine.core.ParallelUpdate;
+import com.gameengine.core.SimulationRandom;
+import com.gameengine.core.Tag;
+import com.gameengine.physics.CollisionSystem;
+import com.gameengine.physics.SpatialHash;
+import com.gameengine.physics.SpatialIndex;
+import com.gameengine.physics.SpatialQuery;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 public class Scene {
     private String name;
     private List<GameObject> gameObjects;
+    // 结构变更命令缓冲：update 期间的生成/移除只记录，在同步点统一应用
     private List<GameObject> objectsToAdd;
-    private List<GameObject> objectsToRemove;
+    private Set<GameObject> objectsToRemove;
+    private final List<GameObject> gameObjectsView;
+    // ComponentType ID -> 组件列表（含父类型），随对象加入/销毁增量维护
+    private final List<List<Component<?>>> componentIndex;
+    private final List<List<Component<?>>> componentViews;
+    // ParallelUpdate 组件在串行更新之后并行执行，期间跨实体写入排队到 deferred
+    private final List<Component<?>> parallelComponents;
+    private final ConcurrentLinkedQueue<DeferredAction> deferred;
+    private final List<DeferredAction> deferredDrain;
+    private ForkJoinPool parallelPool;
+    // 模拟随机数根种子；确定性模式下由 GameEngine 在 initialize 之前设置
+    private SimulationRandom random;
+    // 被唤醒或重新启用的物理体，由 PhysicsSystem 每个 tick 取走；唤醒可能发生在并行阶段或帧外
+    private final ConcurrentLinkedQueue<PhysicsComponent> wokenBodies;
+    // 标签 ID -> 带该标签的对象
+    private final List<List<GameObject>> tagIndex;
+    private final List<List<GameObject>> tagViews;
+    // 可选：Transform/Physics 的列式存储后端
+    private ArchetypeStorage archetypeStorage;
+    // 可选：宽相空间索引，首次使用时创建，之后每个 tick 开始时按当前位置重建
+    private SpatialIndex spatialIndex;
+    private SpatialQuery spatialQuery;
+    // 自上次索引更新以来有变化的对象和离开场景的对象，交给 SpatialIndex.update 增量处理；
+    // 索引不是增量的（isIncremental 为 false）时不收集，每 tick 直接 rebuild
+    private boolean indexIncremental;
+    private final List<GameObject> indexChanged = new ArrayList<>();
+    private final List<GameObject> indexRemoved = new ArrayList<>();
+    // 可选：碰撞管线，首次使用时创建，之后每个 tick 在对象更新之后、同步点之前运行一次
+    private CollisionSystem collisionSystem;
+    // 可选：更新 LOD，出现第一个 LodUpdate 组件或首次调用 getUpdateLod 时创建
+    private UpdateLod updateLod;
+    // 实体 ID：addGameObject 时分配，离开场景时回收；按槽位下标直接索引对象
+    private final EntityIdAllocator entityIds;
+    private GameObject[] entitiesByIndex;
+    // 本帧数据有变化的对象，每帧 update 开始时清空；GameObject.dirtyFrame 负责去重
+    private final List<GameObject> dirtyObjects;
+    private final List<GameObject> dirtyView;
+    private long frame;
+    // 渲染插值系数：距上一个固定步的时间占步长的比例，由 GameEngine 在渲染前设置
+    private float interpolationAlpha = 1.0f;
     private boolean initialized;
     
     public Scene(String name) {
         this.name = name;
         this.gameObjects = new ArrayList<>();
         this.objectsToAdd = new ArrayList<>();
-        this.objectsToRemove = new ArrayList<>();
+        this.objectsToRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.gameObjectsView = Collections.unmodifiableList(gameObjects);
+        this.componentIndex = new ArrayList<>();
+        this.componentViews = new ArrayList<>();
+        this.parallelComponents = new ArrayList<>();
+        this.deferred = new ConcurrentLinkedQueue<>();
+        this.deferredDrain = new ArrayList<>();
+        this.random = new SimulationRandom(System.nanoTime());
+        this.wokenBodies = new ConcurrentLinkedQueue<>();
+        this.tagIndex = new ArrayList<>(Tag.MAX_TAGS);
+        this.tagViews = new ArrayList<>(Tag.MAX_TAGS);
+        for (int i = 0; i < Tag.MAX_TAGS; i++) {
+            List<GameObject> bucket = new ArrayList<>();
+            tagIndex.add(bucket);
+            tagViews.add(Collections.unmodifiableList(bucket));
+        }
+        this.entityIds = new EntityIdAllocator();
+        this.entitiesByIndex = new GameObject[64];
+        this.dirtyObjects = new ArrayList<>();
+        this.dirtyView = Collections.unmodifiableList(dirtyObjects);
         this.initialized = false;
     }
     
@@ -28,28 +102,226 @@ public class Scene {
     }
     
     public void update(float deltaTime) {
+        frame++;
+        if (indexIncremental) {
+            // 上一帧 update 开始之后的改动（包括帧间物理积分的移动）都在这个脏集合里
+            indexChanged.addAll(dirtyObjects);
+        }
+        dirtyObjects.clear();
+        applyPendingAdds();
+        capturePreviousTransforms();
+        if (indexIncremental) {
+            indexChanged.addAll(dirtyObjects);
+            spatialIndex.update(gameObjects, indexChanged, indexRemoved);
+            indexChanged.clear();
+            indexRemoved.clear();
+        } else if (spatialIndex != null) {
+            spatialIndex.rebuild(gameObjects);
+        }
+        if (updateLod != null) {
+            updateLod.plan(deltaTime, frame);
+        }
+        
+        // 本帧生成的对象进入 objectsToAdd，不会改变 gameObjects 长度
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive()) {
+                obj.update(deltaTime);
+            }
+        }
+        
+        if (updateLod != null) {
+            updateLod.runSerial();
+        }
+        runParallelPhase(deltaTime);
+        if (collisionSystem != null) {
+            collisionSystem.update(deltaTime);
+        }
+        compact();
+    }
+    
+    private void capturePreviousTransforms() {
+        List<TransformComponent> transforms = getComponents(TransformComponent.class);
+        for (int i = 0; i < transforms.size(); i++) {
+            transforms.get(i).capturePrevious();
+        }
+    }
+    
+    /** 宽相索引；位置是本 tick 开始时的快照，调用方对候选再做精确判定。 */
+    public SpatialIndex getSpatialIndex() {
+        if (spatialIndex == null) {
+            setSpatialIndex(new SpatialHash());
+        }
+        return spatialIndex;
+    }
+    
+    /** 玩法用的邻近查询（nearest / anyWithin / forEachWithin），基于 getSpatialIndex。 */
+    public SpatialQuery getSpatialQuery() {
+        if (spatialQuery == null) {
+            spatialQuery = new SpatialQuery(this);
+        }
+        return spatialQuery;
+    }
+    
+    public void setSpatialIndex(SpatialIndex index) {
+        this.spatialIndex = index;
+        this.indexIncremental = index != null && index.isIncremental();
+        indexChanged.clear();
+        indexRemoved.clear();
+        if (index != null) {
+            index.rebuild(gameObjects);
+        }
+    }
+    
+    public CollisionSystem getCollisionSystem() {
+        if (collisionSystem == null) {
+            collisionSystem = new CollisionSystem(this);
+        }
+        return collisionSystem;
+    }
+    
+    public UpdateLod getUpdateLod() {
+        if (updateLod == null) {
+            updateLod = new UpdateLod();
+        }
+        return updateLod;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    public void setInterpolationAlpha(float alpha) {
+        this.interpolationAlpha = alpha;
+    }
+    
+    private void runParallelPhase(float deltaTime) {
+        runParallel(parallelComponents, null, deltaTime);
+        // 本帧被 LOD 选中的并行组件，各自带累计的步长；下标单独编号，所以先执行完上一批的延后操作
+        if (updateLod != null && !updateLod.getDueParallel().isEmpty()) {
+            long start = System.nanoTime();
+            runParallel(updateLod.getDueParallel(), updateLod.getDueParallelDeltas(), deltaTime);
+            updateLod.finishParallel(System.nanoTime() - start);
+        }
+    }
+    
+    private void runParallel(List<Component<?>> components, float[] deltaTimes, float deltaTime) {
+        int count = components.size();
+        if (count > ParallelUpdateTask.SERIAL_THRESHOLD) {
+            getParallelPool().invoke(new ParallelUpdateTask(components, deltaTimes, 0, count, deltaTime));
+        } else if (count > 0) {
+            ParallelUpdateTask.updateRange(components, deltaTimes, 0, count, deltaTime);
+        }
+        // 按发起组件的下标稳定排序，执行顺序与线程数和调度无关；执行中新排入的操作下一轮处理
+        while (!deferred.isEmpty()) {
+            DeferredAction action;
+            while ((action = deferred.poll()) != null) {
+                deferredDrain.add(action);
+            }
+            if (deferredDrain.size() > 1) {
+                deferredDrain.sort(DeferredAction.BY_ORDER);
+            }
+            for (int i = 0; i < deferredDrain.size(); i++) {
+                deferredDrain.get(i).action.run();
+            }
+            deferredDrain.clear();
+        }
+    }
+    
+    /**
+     * 延后到本帧并行阶段结束后在主线程执行，可在 ParallelUpdate 组件的 update 中安全调用。
+     * 按发起组件在并行列表中的顺序执行，同一组件的多个操作保持调用顺序。
+     */
+    public void defer(Runnable action) {
+        deferred.add(new DeferredAction(ParallelUpdateTask.currentIndex(), action));
+    }
+    
+    private static final class DeferredAction {
+        static final Comparator<DeferredAction> BY_ORDER = (a, b) -> Integer.compare(a.order, b.order);
+        
+        final int order;
+        final Runnable action;
+        
+        DeferredAction(int order, Runnable action) {
+            this.order = order;
+            this.action = action;
+        }
+    }
+    
+    /** 并行阶段使用的线程池，默认 ForkJoinPool.commonPool()。 */
+    public void setParallelPool(ForkJoinPool pool) {
+        this.parallelPool = pool;
+    }
+    
+    public ForkJoinPool getParallelPool() {
+        return parallelPool != null ? parallelPool : ForkJoinPool.commonPool();
+    }
+    
+    public SimulationRandom getRandom() {
+        return random;
+    }
+    
+    public void setRandomSeed(long seed) {
+        this.random = new SimulationRandom(seed);
+    }
+    
+    public void onBodyWoken(PhysicsComponent body) {
+        wokenBodies.add(body);
+    }
+    
+    /** 取出一个待处理的唤醒物体，没有时返回 null。 */
+    public PhysicsComponent pollWokenBody() {
+        return wokenBodies.poll();
+    }
+    
+    private void applyPendingAdds() {
         for (GameObject obj : objectsToAdd) {
+            if (obj.isDestroyed()) {
+                // 还没进入场景就被销毁
+                releaseId(obj);
+                if (obj.getPool() != null) {
+                    obj.getPool().release(obj);
+                }
+                continue;
+            }
             gameObjects.add(obj);
+            obj.setScene(this);
+            registerComponents(obj);
             if (initialized) {
                 obj.initialize();
             }
+            markDirty(obj);
         }
         objectsToAdd.clear();
-        
-        for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
-        }
-        objectsToRemove.clear();
-        
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
-            if (obj.isActive()) {
-                obj.update(deltaTime);
+    }
+    
+    // 一次遍历移除失活对象和排队移除的对象，保持其余对象的相对顺序（渲染层次依赖它）
+    private void compact() {
+        int write = 0;
+        int size = gameObjects.size();
+        for (int read = 0; read < size; read++) {
+            GameObject obj = gameObjects.get(read);
+            if (obj.isActive() && !objectsToRemove.contains(obj)) {
+                if (write != read) {
+                    gameObjects.set(write, obj);
+                }
+                write++;
             } else {
-                iterator.remove();
+                detach(obj);
             }
         }
+        if (write < size) {
+            gameObjects.subList(write, size).clear();
+        }
+        if (!objectsToRemove.isEmpty()) {
+            // 同一帧内生成又移除的对象直接丢弃
+            objectsToAdd.removeIf(obj -> {
+                if (!objectsToRemove.contains(obj)) return false;
+                releaseId(obj);
+                return true;
+            });
+            objectsToRemove.clear();
+        }
     }
     
     public void render() {
@@ -61,33 +333,328 @@ public class Scene {
     }
     
     public void addGameObject(GameObject gameObject) {
+        int id = entityIds.allocate();
+        int index = EntityIdAllocator.indexOf(id);
+        if (index >= entitiesByIndex.length) {
+            entitiesByIndex = Arrays.copyOf(entitiesByIndex, Math.max(index + 1, entitiesByIndex.length * 2));
+        }
+        entitiesByIndex[index] = gameObject;
+        gameObject.setId(id);
         objectsToAdd.add(gameObject);
     }
     
+    /** 在下一个同步点（本帧 update 结束时）把对象移出场景，不销毁它。 */
+    public void removeGameObject(GameObject gameObject) {
+        objectsToRemove.add(gameObject);
+    }
+    
+    /** 按实体 ID 查找；ID 已回收（代数不符）时返回 null。 */
+    public GameObject getGameObjectById(int id) {
+        if (!entityIds.isAlive(id)) return null;
+        return entitiesByIndex[EntityIdAllocator.indexOf(id)];
+    }
+    
+    private void releaseId(GameObject obj) {
+        int id = obj.getId();
+        if (entityIds.isAlive(id) && entitiesByIndex[EntityIdAllocator.indexOf(id)] == obj) {
+            entitiesByIndex[EntityIdAllocator.indexOf(id)] = null;
+            entityIds.release(id);
+        }
+        obj.setId(EntityIdAllocator.NULL);
+    }
+    
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        List<T> components = getComponents(componentType);
+        List<GameObject> result = new ArrayList<>(components.size());
+        for (T component : components) {
+            GameObject owner = component.getOwner();
+            // 已销毁的对象到同步点前仍在视图里
+            if (owner != null && !owner.isDestroyed() && !result.contains(owner)) {
+                result.add(owner);
+            }
+        }
+        return result;
     }
     
+    /**
+     * 返回该类型（含子类）组件的只读实时视图，随场景增删自动更新，不复制。
+     * 遍历期间不要增删该类型组件；销毁对象（GameObject.destroy）要到同步点才移出视图，遍历中可以调用。
+     */
+    @SuppressWarnings("unchecked")
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        int id = ComponentType.idOf(componentType);
+        ensureBucket(id);
+        return (List<T>) (List<?>) componentViews.get(id);
+    }
+    
+    public void onComponentAdded(Component<?> component) {
+        indexComponent(component);
+        if (archetypeStorage != null) {
+            archetypeStorage.onComponentAdded(component);
+        }
+    }
+    
+    public void onComponentRemoved(Component<?> component) {
+        int[] hierarchy = ComponentType.hierarchyOf(component.getClass());
+        int[] slots = component.getIndexSlots();
+        if (slots != null) {
+            for (int level = 0; level < hierarchy.length; level++) {
+                int id = hierarchy[level];
+                if (id < componentIndex.size()) {
+                    removeFromBucket(componentIndex.get(id), id, component, slots[level]);
+                }
+            }
+        }
+        if (component instanceof LodUpdate) {
+            if (updateLod != null) {
+                updateLod.remove(component);
+            }
+        } else if (component instanceof ParallelUpdate) {
+            int slot = component.getParallelSlot();
+            if (slot < parallelComponents.size() && parallelComponents.get(slot) == component) {
+                Component<?> moved = parallelComponents.remove(parallelComponents.size() - 1);
+                if (moved != component) {
+                    parallelComponents.set(slot, moved);
+                    moved.setParallelSlot(slot);
+                }
+            }
+        }
+        if (archetypeStorage != null) {
+            archetypeStorage.onComponentRemoved(component);
+        }
+    }
+    
+    /**
+     * 启用 archetype 列式存储：之后加入场景的 Transform/Physics 组件都绑定到列数据上，
+     * 已在场景中的对象也会立即迁移。
+     */
+    public void enableArchetypeStorage() {
+        if (archetypeStorage != null) return;
+        archetypeStorage = new ArchetypeStorage();
+        for (GameObject obj : gameObjects) {
+            archetypeStorage.attach(obj);
+        }
+    }
+    
+    public ArchetypeStorage getArchetypeStorage() {
+        return archetypeStorage;
+    }
+    
+    private void indexComponent(Component<?> component) {
+        int[] hierarchy = ComponentType.hierarchyOf(component.getClass());
+        int[] slots = component.getIndexSlots();
+        if (slots == null || slots.length != hierarchy.length) {
+            slots = new int[hierarchy.length];
+            component.setIndexSlots(slots);
+        }
+        for (int level = 0; level < hierarchy.length; level++) {
+            int id = hierarchy[level];
+            ensureBucket(id);
+            List<Component<?>> bucket = componentIndex.get(id);
+            slots[level] = bucket.size();
+            bucket.add(component);
+        }
+        if (component instanceof LodUpdate) {
+            getUpdateLod().add(component);
+        } else if (component instanceof ParallelUpdate) {
+            component.setParallelSlot(parallelComponents.size());
+            parallelComponents.add(component);
+        }
+    }
+    
+    // 末尾元素填进空位，O(1) 删除；被挪动的组件更新它在该类型桶里的下标。不在桶里（已删过）时什么也不做
+    private static void removeFromBucket(List<Component<?>> bucket, int typeId, Component<?> component, int slot) {
+        if (slot >= bucket.size() || bucket.get(slot) != component) return;
+        Component<?> moved = bucket.remove(bucket.size() - 1);
+        if (moved == component) return;
+        bucket.set(slot, moved);
+        int[] hierarchy = ComponentType.hierarchyOf(moved.getClass());
+        for (int level = 0; level < hierarchy.length; level++) {
+            if (hierarchy[level] == typeId) {
+                moved.getIndexSlots()[level] = slot;
+                return;
+            }
+        }
+    }
+    
+    private void ensureBucket(int id) {
+        while (componentIndex.size() <= id) {
+            List<Component<?>> bucket = new ArrayList<>();
+            componentIndex.add(bucket);
+            componentViews.add(Collections.unmodifiableList(bucket));
+        }
+    }
+    
+    /** 带该标签的对象的只读实时视图，不分配；包含失活但仍在场景中的对象，移除对象时由末尾对象补位，顺序不固定。 */
+    public List<GameObject> findByTag(String tag) {
+        return tagViews.get(Tag.of(tag));
+    }
+    
+    public List<GameObject> findByTag(int tagId) {
+        return tagViews.get(tagId);
+    }
+    
+    public GameObject firstByTag(String tag) {
+        List<GameObject> bucket = tagIndex.get(Tag.of(tag));
+        return bucket.isEmpty() ? null : bucket.get(0);
+    }
+    
+    public void onTagAdded(GameObject obj, int tagId) {
+        List<GameObject> bucket = tagIndex.get(tagId);
+        obj.setTagSlot(tagId, bucket.size());
+        bucket.add(obj);
+    }
+    
+    // 末尾对象填到空位，O(1)；桶内顺序不保证
+    public void onTagRemoved(GameObject obj, int tagId) {
+        List<GameObject> bucket = tagIndex.get(tagId);
+        int slot = obj.getTagSlot(tagId);
+        if (slot < 0 || slot >= bucket.size() || bucket.get(slot) != obj) return;
+        GameObject moved = bucket.remove(bucket.size() - 1);
+        if (moved == obj) return;
+        bucket.set(slot, moved);
+        moved.setTagSlot(tagId, slot);
+    }
+    
+    private void registerComponents(GameObject obj) {
+        for (Component<?> component : obj.getComponentList()) {
+            indexComponent(component);
+        }
+        registerTags(obj);
+        if (archetypeStorage != null) {
+            archetypeStorage.attach(obj);
+        }
+    }
+    
+    private void registerTags(GameObject obj) {
+        for (long bits = obj.getTags(); bits != 0; bits &= bits - 1) {
+            onTagAdded(obj, Long.numberOfTrailingZeros(bits));
+        }
+    }
+    
+    private void detach(GameObject obj) {
+        if (obj.getScene() != this) return;
+        // 销毁的对象也在这里才移出索引，见 GameObject.destroy
+        for (Component<?> component : obj.getComponentList()) {
+            onComponentRemoved(component);
+        }
+        for (long bits = obj.getTags(); bits != 0; bits &= bits - 1) {
+            onTagRemoved(obj, Long.numberOfTrailingZeros(bits));
+        }
+        obj.setScene(null);
+        if (indexIncremental) {
+            indexRemoved.add(obj);
+        }
+        releaseId(obj);
+        if (obj.isDestroyed()) {
+            if (obj.getPool() != null) {
+                obj.getPool().release(obj);
+            } else {
+                obj.releaseComponents();
+            }
+        }
     }
     
     public void clear() {
+        for (GameObject obj : gameObjects) {
+            if (obj.getScene() == this) {
+                if (archetypeStorage != null) {
+                    for (Component<?> component : obj.getComponentList()) {
+                        archetypeStorage.onComponentRemoved(component);
+                    }
+                }
+                obj.setScene(null);
+                if (obj.isDestroyed()) {
+                    obj.releaseComponents();
+                }
+            }
+            releaseId(obj);
+        }
+        for (GameObject obj : objectsToAdd) {
+            releaseId(obj);
+        }
         gameObjects.clear();
         objectsToAdd.clear();
         objectsToRemove.clear();
+        // 保留桶对象本身，已发出的视图仍然有效
+        for (List<Component<?>> bucket : componentIndex) {
+            bucket.clear();
+        }
+        for (List<GameObject> bucket : tagIndex) {
+            bucket.clear();
+        }
+        parallelComponents.clear();
+        if (updateLod != null) {
+            updateLod.clear();
+        }
+        deferred.clear();
+        wokenBodies.clear();
+        if (collisionSystem != null) {
+            collisionSystem.clear();
+        }
+        dirtyObjects.clear();
+        indexChanged.clear();
+        indexRemoved.clear();
+        if (spatialIndex != null) {
+            spatialIndex.rebuild(gameObjects);
+        }
+    }
+    
+    /** 记入本帧脏集合；ParallelUpdate 阶段可能多线程调用，每个对象每帧只进一次锁。 */
+    public void markDirty(GameObject obj) {
+        if (obj.getDirtyFrame() == frame) return;
+        synchronized (dirtyObjects) {
+            if (obj.getDirtyFrame() == frame) return;
+            obj.setDirtyFrame(frame);
+            dirtyObjects.add(obj);
+        }
+    }
+    
+    /** 批量版本：本帧已记入的对象先在锁外滤掉，其余一次加锁记入。 */
+    public void markDirty(GameObject[] objects, int count) {
+        int pending = 0;
+        for (int i = 0; i < count; i++) {
+            if (objects[i].getDirtyFrame() != frame) {
+                objects[pending++] = objects[i];
+            }
+        }
+        if (pending == 0) return;
+        synchronized (dirtyObjects) {
+            for (int i = 0; i < pending; i++) {
+                GameObject obj = objects[i];
+                if (obj.getDirtyFrame() == frame) continue;
+                obj.setDirtyFrame(frame);
+                dirtyObjects.add(obj);
+            }
+        }
+    }
+    
+    /** 自本帧 Scene.update 开始以来有组件数据变化（或新加入）的对象，只读视图。 */
+    public List<GameObject> getDirtyObjects() {
+        return dirtyView;
+    }
+    
+    public long getFrame() {
+        return frame;
     }
     
     public String getName() {
         return name;
     }
     
+    /** 返回副本；热路径请用 getGameObjectsView() 或 forEachGameObject()。 */
     public List<GameObject> getGameObjects() {
         return new ArrayList<>(gameObjects);
     }
+    
+    /** 只读实时视图，不复制；结构变更只在同步点发生，遍历期间安全。 */
+    public List<GameObject> getGameObjectsView() {
+        return gameObjectsView;
+    }
+    
+    public void forEachGameObject(Consumer<GameObject> visitor) {
+        for (int i = 0; i < gameObjects.size(); i++) {
+            visitor.accept(gameObjects.get(i));
+        }
+    }
 }
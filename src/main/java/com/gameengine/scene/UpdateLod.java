@@ -0,0 +1,342 @@
+package com.gameengine.scene;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.ParallelUpdate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 更新 LOD：按与焦点（玩家或相机）的距离把实体分到三个等级。
+ * 近处每 tick 更新，中距离每 interval 个 tick 更新一次，远处分成 slices 片、每 tick 轮到一片。
+ * 降频的更新受每帧时间预算限制，超出的顺延到下一帧并优先执行；预算为 0 时不限。
+ * LodUpdate 组件由 Scene 自动登记；系统代码里的循环可以用 levelOf / isDue 做同样的判断。
+ */
+public final class UpdateLod {
+    public enum Level {
+        EVERY_TICK,
+        EVERY_NTH,
+        ROUND_ROBIN
+    }
+
+    private static final Level[] LEVELS = Level.values();
+
+    private GameObject focus;
+    private float focusX;
+    private float focusY;
+    private boolean hasFocusPoint;
+    private float nearDistance = 400f;
+    private float farDistance = 900f;
+    private int interval = 4;
+    private int slices = 8;
+    private long frameBudgetNanos;
+    private boolean budgetEnabled = true;
+    private long frame;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Component<?>, Entry> entryOf = new IdentityHashMap<>();
+    private int nextKey;
+    private int cursor;
+    // 本帧选中的组件：串行的由 runSerial 执行，并行的交给 Scene 的并行阶段
+    private final List<Entry> dueSerial = new ArrayList<>();
+    private final List<Component<?>> dueParallel = new ArrayList<>();
+    private final List<Entry> dueParallelEntries = new ArrayList<>();
+    private float[] dueParallelDeltas = new float[64];
+    // 每次降频更新的平均耗时，用来把时间预算折算成个数
+    private double nanosPerUpdate = -1;
+
+    // 指标：本帧各等级的实体数、实际执行数，以及因预算顺延的个数
+    private final int[] assigned = new int[LEVELS.length];
+    private final int[] updated = new int[LEVELS.length];
+    private int deferredCount;
+    private long lastUpdateNanos;
+
+    UpdateLod() {
+    }
+
+    private static final class Entry {
+        final Component<?> component;
+        final int key;
+        final boolean parallel;
+        // 在 entries 中的下标，删除时与末尾交换
+        int index;
+        Level level = Level.EVERY_TICK;
+        float pending;
+        boolean overdue;
+
+        Entry(Component<?> component, int key) {
+            this.component = component;
+            this.key = key;
+            this.parallel = component instanceof ParallelUpdate;
+        }
+    }
+
+    /** 焦点跟随对象的位置；传 null 取消。 */
+    public void setFocus(GameObject focus) {
+        this.focus = focus;
+    }
+
+    public void setFocus(float x, float y) {
+        this.focus = null;
+        this.focusX = x;
+        this.focusY = y;
+        this.hasFocusPoint = true;
+    }
+
+    public void clearFocus() {
+        this.focus = null;
+        this.hasFocusPoint = false;
+    }
+
+    /** near 以内每 tick 更新，far 以外轮转更新，之间每 interval 个 tick 更新。 */
+    public void setDistances(float near, float far) {
+        this.nearDistance = near;
+        this.farDistance = Math.max(near, far);
+    }
+
+    public void setInterval(int interval) {
+        this.interval = Math.max(1, interval);
+    }
+
+    public void setSlices(int slices) {
+        this.slices = Math.max(1, slices);
+    }
+
+    /** 降频更新每帧最多占用的时间，0 表示不限。 */
+    public void setFrameBudgetNanos(long nanos) {
+        this.frameBudgetNanos = Math.max(0, nanos);
+    }
+
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    /** 关闭后忽略时间预算，执行集合只取决于帧号和位置；GameEngine 的确定性模式会关闭它。 */
+    public void setBudgetEnabled(boolean enabled) {
+        this.budgetEnabled = enabled;
+    }
+
+    /** 没有焦点时所有实体都是 EVERY_TICK。 */
+    public Level levelOf(float x, float y) {
+        float fx;
+        float fy;
+        if (focus != null) {
+            TransformComponent transform = focus.getComponent(TransformComponent.class);
+            if (transform == null || !focus.isActive()) return Level.EVERY_TICK;
+            fx = transform.getX();
+            fy = transform.getY();
+        } else if (hasFocusPoint) {
+            fx = focusX;
+            fy = focusY;
+        } else {
+            return Level.EVERY_TICK;
+        }
+        float dx = x - fx;
+        float dy = y - fy;
+        float distSq = dx * dx + dy * dy;
+        if (distSq <= nearDistance * nearDistance) return Level.EVERY_TICK;
+        if (distSq <= farDistance * farDistance) return Level.EVERY_NTH;
+        return Level.ROUND_ROBIN;
+    }
+
+    /** 本帧该等级、该键（通常是实体 ID）是否轮到更新；只取决于帧号和键，与线程和耗时无关。 */
+    public boolean isDue(Level level, int key) {
+        switch (level) {
+            case EVERY_NTH:
+                return frame % interval == 0;
+            case ROUND_ROBIN:
+                return Math.floorMod(frame + key, slices) == 0;
+            default:
+                return true;
+        }
+    }
+
+    /** 该等级两次更新之间相隔的 tick 数。 */
+    public int ticksPerUpdate(Level level) {
+        switch (level) {
+            case EVERY_NTH:
+                return interval;
+            case ROUND_ROBIN:
+                return slices;
+            default:
+                return 1;
+        }
+    }
+
+    /** 系统代码自行调度的实体计入指标。 */
+    public void record(Level level, boolean ran) {
+        assigned[level.ordinal()]++;
+        if (ran) updated[level.ordinal()]++;
+    }
+
+    public int getAssignedCount(Level level) {
+        return assigned[level.ordinal()];
+    }
+
+    public int getUpdatedCount(Level level) {
+        return updated[level.ordinal()];
+    }
+
+    public int getDeferredCount() {
+        return deferredCount;
+    }
+
+    /** 上一帧执行 LodUpdate 组件的总耗时。 */
+    public long getLastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    void add(Component<?> component) {
+        if (entryOf.containsKey(component)) return;
+        Entry entry = new Entry(component, nextKey++);
+        entry.index = entries.size();
+        entries.add(entry);
+        entryOf.put(component, entry);
+    }
+
+    void remove(Component<?> component) {
+        Entry entry = entryOf.remove(component);
+        if (entry == null) return;
+        int last = entries.size() - 1;
+        Entry moved = entries.remove(last);
+        if (moved != entry) {
+            entries.set(entry.index, moved);
+            moved.index = entry.index;
+            // 游标指向被挪走的末尾元素时跟着它走
+            if (cursor == last) cursor = entry.index;
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        entryOf.clear();
+        dueSerial.clear();
+        dueParallel.clear();
+        dueParallelEntries.clear();
+    }
+
+    // 帧开始时选出本帧要执行的组件：每 tick 的全部执行，上次顺延的优先，其余按预算折算的个数截断
+    void plan(float deltaTime, long frame) {
+        this.frame = frame;
+        Arrays.fill(assigned, 0);
+        Arrays.fill(updated, 0);
+        deferredCount = 0;
+        lastUpdateNanos = 0;
+        dueSerial.clear();
+        dueParallel.clear();
+        dueParallelEntries.clear();
+        if (dueParallelDeltas.length < entries.size()) {
+            dueParallelDeltas = new float[Math.max(entries.size(), dueParallelDeltas.length * 2)];
+        }
+
+        int everyTick = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            entry.pending += deltaTime;
+            entry.level = levelOf(entry.component.getOwner());
+            assigned[entry.level.ordinal()]++;
+            if (entry.level == Level.EVERY_TICK && isRunnable(entry)) everyTick++;
+        }
+        int allowance = Integer.MAX_VALUE;
+        if (budgetEnabled && frameBudgetNanos > 0 && nanosPerUpdate > 0) {
+            allowance = (int) Math.max(1, frameBudgetNanos / nanosPerUpdate - everyTick);
+        }
+        // 第一遍：每 tick 的和上次顺延的；第二遍：本帧按调度轮到的。
+        // 从上一帧第一个被顺延的位置开始遍历，预算紧张时所有实体轮流得到执行
+        int n = entries.size();
+        int start = n == 0 ? 0 : cursor % n;
+        int firstDeferred = -1;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int step = 0; step < n; step++) {
+                int i = start + step < n ? start + step : start + step - n;
+                Entry entry = entries.get(i);
+                if (!isRunnable(entry)) continue;
+                boolean everyTickLevel = entry.level == Level.EVERY_TICK;
+                if (pass == 0) {
+                    if (!everyTickLevel && !entry.overdue) continue;
+                } else {
+                    if (everyTickLevel || entry.overdue || !isDue(entry.level, entry.key)) continue;
+                }
+                if (!everyTickLevel) {
+                    if (allowance == 0) {
+                        entry.overdue = true;
+                        deferredCount++;
+                        if (firstDeferred < 0) firstDeferred = i;
+                        continue;
+                    }
+                    allowance--;
+                }
+                select(entry);
+            }
+        }
+        cursor = firstDeferred >= 0 ? firstDeferred : start;
+    }
+
+    private boolean isRunnable(Entry entry) {
+        GameObject owner = entry.component.getOwner();
+        return entry.component.isEnabled() && owner != null && owner.isActive();
+    }
+
+    private Level levelOf(GameObject owner) {
+        if (owner == null) return Level.EVERY_TICK;
+        TransformComponent transform = owner.getComponent(TransformComponent.class);
+        if (transform == null) return Level.EVERY_TICK;
+        return levelOf(transform.getX(), transform.getY());
+    }
+
+    private void select(Entry entry) {
+        updated[entry.level.ordinal()]++;
+        if (entry.parallel) {
+            dueParallelDeltas[dueParallel.size()] = entry.pending;
+            dueParallel.add(entry.component);
+            dueParallelEntries.add(entry);
+        } else {
+            dueSerial.add(entry);
+        }
+    }
+
+    void runSerial() {
+        if (dueSerial.isEmpty()) return;
+        long start = System.nanoTime();
+        for (int i = 0; i < dueSerial.size(); i++) {
+            Entry entry = dueSerial.get(i);
+            float deltaTime = entry.pending;
+            entry.pending = 0;
+            entry.overdue = false;
+            if (isRunnable(entry)) {
+                entry.component.update(deltaTime);
+            }
+        }
+        sample(System.nanoTime() - start, dueSerial.size());
+    }
+
+    List<Component<?>> getDueParallel() {
+        return dueParallel;
+    }
+
+    float[] getDueParallelDeltas() {
+        return dueParallelDeltas;
+    }
+
+    // 并行阶段执行完选中的并行组件后调用：清零累计时间并记录耗时
+    void finishParallel(long nanos) {
+        for (int i = 0; i < dueParallelEntries.size(); i++) {
+            Entry entry = dueParallelEntries.get(i);
+            entry.pending = 0;
+            entry.overdue = false;
+        }
+        sample(nanos, dueParallel.size());
+    }
+
+    private void sample(long nanos, int count) {
+        lastUpdateNanos += nanos;
+        if (count <= 0) return;
+        double perUpdate = (double) nanos / count;
+        nanosPerUpdate = nanosPerUpdate < 0 ? perUpdate : nanosPerUpdate * 0.9 + perUpdate * 0.1;
+    }
+}